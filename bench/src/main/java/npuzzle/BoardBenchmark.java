@@ -0,0 +1,90 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-10-23
+// BoardBenchmark.java
+// microbenchmarks for move generation and the heuristics, per heuristic
+// on a fixed 3x3 and 4x4 instance.  the PDB runs need the pattern database
+// files in the working directory (./solver -genpdb), otherwise they fall
+// back to INT like the solver does.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    @Param({"HAM", "MAN", "INT", "WD", "PDB"})
+    public String heuristic;
+
+    // d=20 from 3x3.txt and d=40 from 4x4.txt
+    @Param({"4 6 7 1 0 2 5 3 8",
+            "0 8 4 2 13 9 1 7 15 14 3 6 12 5 11 10"})
+    public String puzzle;
+
+    private Board   board;
+    private int     direction;
+    private Board[] children = new Board[Board.DIRECTIONS];
+
+    @Setup
+    public void setup() {
+        board = new Board(puzzle, Board.Heuristic.valueOf(heuristic));
+        // any legal move will do, the cost doesn't depend on which
+        for (direction = 0; direction < Board.DIRECTIONS; direction++)
+            if (board.game().isValidMove[direction][board.getZero()]) break;
+    }
+
+    // the whole neighbor list, as A* and IDA expand it
+    @Benchmark
+    public void neighbors(Blackhole bh) {
+        for (Board b : board.neighbors()) bh.consume(b);
+    }
+
+    // the same into a reused buffer, which is what Solver does now
+    @Benchmark
+    public void neighborsInto(Blackhole bh) {
+        int count = board.neighbors(children, null);
+        for (int i = 0; i < count; i++) bh.consume(children[i]);
+    }
+
+    // one move with the incremental heuristic update
+    @Benchmark
+    public Board moveTo() {
+        return board.moveTo(direction);
+    }
+
+    // the heuristics computed from scratch
+    @Benchmark
+    public int manhattan() {
+        return board.manhattan();
+    }
+
+    @Benchmark
+    public int conflicts() {
+        return board.conflicts();
+    }
+
+    @Benchmark
+    public int inversions() {
+        return board.inversions();
+    }
+}
@@ -0,0 +1,85 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-10-23
+// SolveBenchmark.java
+// end to end solves per method on fixed instances.  the informed methods
+// run per heuristic on 3x3 and 4x4, BFS and DFS only on 3x3 since they
+// take seconds and hundreds of MB even on an easy 4x4.  TBL goes with
+// them, since it doesn't use the heuristic and has no table past 3x3.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xss16m", "-Xmx2g"})
+public class SolveBenchmark {
+
+    @State(Scope.Thread)
+    public static class Informed {
+        @Param({"AST", "ASD", "IDA", "IDR", "IDP", "BDA", "EPA", "ASP", "HDA"})
+        public String method;
+
+        @Param({"MAN", "INT", "WD", "PDB"})
+        public String heuristic;
+
+        // d=24 from 3x3.txt and d=40 from 4x4.txt
+        @Param({"5 4 0 6 1 8 7 3 2",
+                "0 8 4 2 13 9 1 7 15 14 3 6 12 5 11 10"})
+        public String puzzle;
+
+        Board           board;
+        Solver.Method   use;
+
+        @Setup
+        public void setup() {
+            board = new Board(puzzle, Board.Heuristic.valueOf(heuristic));
+            use   = Solver.Method.valueOf(method);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Uninformed {
+        @Param({"BFS", "DFS", "BDB", "TBL"})
+        public String uninformed;
+
+        // d=20 from 3x3.txt
+        @Param({"4 6 7 1 0 2 5 3 8"})
+        public String small;
+
+        Board           board;
+        Solver.Method   use;
+
+        @Setup
+        public void setup() {
+            board = new Board(small, Board.Heuristic.INT);
+            use   = Solver.Method.valueOf(uninformed);
+        }
+    }
+
+    @Benchmark
+    public int informed(Informed s) {
+        return new Solver(s.board, s.use).moves();
+    }
+
+    @Benchmark
+    public int uninformed(Uninformed s) {
+        return new Solver(s.board, s.use).moves();
+    }
+}
@@ -0,0 +1,97 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-10-23
+// VisitedBenchmark.java
+// closed list insert and lookup, the packed LongHashSet against the
+// HashSet<ByteBuffer> that bigger boards still use.  the states come from
+// a fixed random walk on 4x4 so every run sees the same keys.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VisitedBenchmark {
+
+    @Param({"100000"})
+    public int states;
+
+    private long[]       packed;
+    private ByteBuffer[] buffers;
+    private LongHashSet  packedSet;
+    private Set<ByteBuffer> bufferSet;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(3410);
+        Board  board  = new Board("0 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15", Board.Heuristic.MAN);
+        packed  = new long[states];
+        buffers = new ByteBuffer[states];
+        for (int i = 0; i < states; i++) {
+            Board next = null;
+            while (next == null) {
+                int dir = random.nextInt(Board.DIRECTIONS);
+                if (board.game().isValidMove[dir][board.getZero()]) next = board.moveTo(dir);
+            }
+            board      = next;
+            packed[i]  = board.pack();
+            buffers[i] = ByteBuffer.wrap(board.getState());
+        }
+        packedSet = new LongHashSet(1);
+        bufferSet = new HashSet<ByteBuffer>();
+        for (int i = 0; i < states; i++) {
+            packedSet.add(packed[i]);
+            bufferSet.add(buffers[i]);
+        }
+    }
+
+    @Benchmark
+    public LongHashSet packedInsert() {
+        LongHashSet set = new LongHashSet(1);
+        for (long key : packed) set.add(key);
+        return set;
+    }
+
+    @Benchmark
+    public int packedContains() {
+        int found = 0;
+        for (long key : packed) if (packedSet.contains(key)) found++;
+        return found;
+    }
+
+    @Benchmark
+    public Set<ByteBuffer> bufferInsert() {
+        Set<ByteBuffer> set = new HashSet<ByteBuffer>();
+        for (ByteBuffer key : buffers) set.add(key);
+        return set;
+    }
+
+    @Benchmark
+    public int bufferContains() {
+        int found = 0;
+        for (ByteBuffer key : buffers) if (bufferSet.contains(key)) found++;
+        return found;
+    }
+}
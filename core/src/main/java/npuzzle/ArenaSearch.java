@@ -0,0 +1,143 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-09
+// ArenaSearch.java
+// A* with every node a record in a NodeArena.  the open list is an
+// IntBucketQueue of record indexes and the closed list a LongHashSet from
+// packed board to the index of its cheapest record, so nothing the search
+// keeps is an object of its own and a node costs the record plus a slot in
+// each.  a board reached again more cheaply gets a new record, and the
+// old one is skipped when it comes off the open list because the closed
+// list no longer points at it.  children are scored with the same per tile
+// deltas the in-place searches use, and the path is walked back through
+// the parent indexes.  only boards that pack (up to 5x5).
+// with a budget, the search gives up once it holds more bytes than that,
+// and bound() is the lowest f still open, which no solution is cheaper
+// than, for a search that keeps less to go on from.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+public class ArenaSearch {
+
+    public ArenaSearch(Board initial) {
+        if (initial.packedWidth() == 0) throw new IllegalArgumentException();
+        this.game  = initial.game();
+        this.width = initial.packedWidth();
+        this.cells = game.cells;
+        this.state = new byte[cells];
+        this.where = new int[cells];
+        this.key   = new long[2];
+        this.arena = new NodeArena(width, game.heuristic == Board.Heuristic.WD);
+        this.seen  = new LongHashSet(width, 1 << 16, true);
+        this.open  = new IntBucketQueue();
+        int dist   = game.startDist(initial);
+        int inter  = game.startInter(initial);
+        int walk   = game.startWalk(initial);
+        pack(initial.getState());
+        int root = arena.add(key[0], key[1], NodeArena.NONE, 0, 0, dist, inter, walk);
+        seen.put(key[0], key[1], root);
+        open.add(root, game.cost(dist, inter, walk), 0);
+    }
+
+    // bytes the arena, closed and open lists may hold, 0 for no limit
+    public void setBudget(long budget) { this.budget = budget; }
+
+    public boolean search() {
+        while (!open.isEmpty()) {
+            if (open.size() > maxDepth) maxDepth = open.size();
+            if (budget > 0 && nextBytes() > budget) {
+                bound = open.minF();
+                return false;
+            }
+            int node = open.remove();
+            long hi  = arena.hi(node);
+            long lo  = arena.lo(node);
+            // a cheaper record for the same board was made after this one
+            if (seen.get(hi, lo) != node) continue;
+            numExpanded++;
+            int dist  = arena.dist(node);
+            int inter = arena.inter(node);
+            int walk  = arena.walk(node);
+            int g     = arena.g(node);
+            if (dist == 0) {
+                walkBack(node);
+                return true;
+            }
+            if (width == 1) Board.unpack(hi, state);
+            else            Board.unpack(hi, lo, state);
+            for (int n = 0; n < cells; n++) where[state[n]] = n;
+            int oZ   = where[0];
+            // undoing the last move only gets back to the parent
+            int back = arena.parent(node) == NodeArena.NONE ? -1
+                     : Board.DIRECTIONS - 1 - arena.move(node);
+            for (int dir: game.order()) {
+                int nZ = game.successor[dir][oZ];
+                if (nZ < 0 || dir == back) continue;
+                int cDist  = dist  + game.distDelta(state, where, oZ, nZ, dir);
+                int cInter = inter + game.interDelta(state, oZ, nZ, dir);
+                int cWalk  = game.walkAfter(walk, state, nZ, dir);
+                state[oZ] = state[nZ];
+                state[nZ] = 0;
+                pack(state);
+                state[nZ] = state[oZ];
+                state[oZ] = 0;
+                int before = seen.get(key[0], key[1]);
+                if (before >= 0 && arena.g(before) <= g + 1) continue;
+                int child = arena.add(key[0], key[1], node, g + 1, dir, cDist, cInter, cWalk);
+                seen.put(key[0], key[1], child);
+                open.add(child, g + 1 + game.cost(cDist, cInter, cWalk), g + 1);
+            }
+        }
+        return false;
+    }
+
+    // what the search could hold after one more expansion, counting the
+    // old and the new closed list together if it has to double
+    private long nextBytes() {
+        long closed = seen.bytes();
+        if (seen.size() + Board.DIRECTIONS > seen.capacity()) closed = 3 * closed;
+        return arena.bytes() + closed + open.bytes();
+    }
+
+    // the moves recorded on the way from the goal back to the root
+    private void walkBack(int goal) {
+        path = new byte[arena.g(goal)];
+        for (int i = goal; arena.parent(i) != NodeArena.NONE; i = arena.parent(i))
+            path[arena.g(i) - 1] = (byte)arena.move(i);
+    }
+
+    private void pack(byte[] s) {
+        if (width == 1) {
+            key[0] = Board.pack(s);
+        } else {
+            key[0] = Board.pack5(s, 0);
+            key[1] = Board.pack5(s, 12);
+        }
+    }
+
+    public int  moves()       { return path.length; }
+    public int  move(int i)   { return path[i];     }
+    public long numExpanded() { return numExpanded; }
+    public int  nodes()       { return arena.size(); }
+    // the lowest f left open when the budget ran out, -1 if it didn't
+    public int  bound()       { return bound;       }
+    public long maxDepth()    { return maxDepth;    }
+    public long bytes()       { return arena.bytes() + seen.bytes() + open.bytes(); }
+
+    // private variables
+    private final Game           game;
+    private final int            width;
+    private final int            cells;
+    private final byte[]         state;
+    private final int[]          where;
+    private final long[]         key;
+    private final NodeArena      arena;
+    private final LongHashSet    seen;
+    private final IntBucketQueue open;
+    private byte[]               path;
+    private long                 budget;
+    private int                  bound = -1;
+    private long                 numExpanded;
+    private long                 maxDepth;
+}
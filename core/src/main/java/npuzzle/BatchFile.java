@@ -0,0 +1,445 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-05
+// BatchFile.java
+// a binary format for big batches, for -binin and -binout.  text boards and
+// CSV lines are slow to parse and take several times the space, which adds
+// up over millions of them.  every file starts with the same 12 bytes:
+//
+//   int  magic "NPUZ", int version, byte kind (boards or results),
+//   byte dimension (0 for results), byte flags, byte bits per tile
+//
+// a board file is then just the boards, 4 bits a tile up to 4x4 (high
+// nibble first) and a byte a tile above that.  a results file is then one
+// record per solve, 48 bytes:
+//
+//   long board (its number in the input, from 0), byte method, byte heuristic,
+//   byte order (2 bits a direction, first highest), byte dimension,
+//   int cost (-1 when not solved), long expanded, long max depth,
+//   long elapsed ms, long memory bytes
+//
+// and, if the header has WITH_MOVES, an int count of moves followed by the
+// moves at 2 bits each, first move highest.  main() converts to and from
+// the text boards and the CSV that plot.R reads.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.util.Arrays;
+public class BatchFile {
+
+    static final int MAGIC        = 0x4e50555a;   // "NPUZ"
+    static final int VERSION      = 1;
+    static final int BOARDS       = 0;
+    static final int RESULTS      = 1;
+    static final int WITH_MOVES   = 1;
+    static final int RESULT_BYTES = 48;
+
+    private static final int    BUFFER_SIZE = 1 << 16;
+    // directions in their 2 bit codes, the same letters as --URLD
+    private static final String LETTERS     = "URLD";
+
+    // boards to solve, one after another
+    public static class BoardReader implements Closeable {
+        public BoardReader(File file) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+            try {
+                if (in.readInt() != MAGIC)   throw new IOException(file + " is not a batch file");
+                if (in.readInt() != VERSION) throw new IOException(file + " is the wrong version");
+                if (in.readByte() != BOARDS) throw new IOException(file + " does not hold boards");
+                dim  = in.readByte();
+                in.readByte();
+                bits = in.readByte();
+            } catch (EOFException e) {
+                in.close();
+                throw new IOException(file + " is truncated");
+            }
+            if (dim < 2 || bits != bitsFor(dim)) {
+                in.close();
+                throw new IOException(file + " has a bad header");
+            }
+            record = new byte[bytesFor(dim)];
+        }
+
+        // the next board, null when there are no more
+        public byte[] next() throws IOException {
+            int read = 0;
+            while (read < record.length) {
+                int n = in.read(record, read, record.length - read);
+                if (n < 0) {
+                    if (read == 0) return null;
+                    throw new IOException("truncated board at the end of the file");
+                }
+                read += n;
+            }
+            byte[] state = new byte[dim * dim];
+            if (bits == 8) System.arraycopy(record, 0, state, 0, state.length);
+            else
+                for (int n = 0; n < state.length; n++)
+                    state[n] = (byte)(record[n >>> 1] >>> ((~n & 1) << 2) & 0xf);
+            return state;
+        }
+
+        public int  dimension() { return dim; }
+        public void close() throws IOException { in.close(); }
+
+        private final DataInputStream in;
+        private final int             dim;
+        private final int             bits;
+        private final byte[]          record;
+    }
+
+    public static class BoardWriter implements Closeable {
+        public BoardWriter(File file, int dim) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+            writeHeader(out, BOARDS, dim, 0, bitsFor(dim));
+            this.dim    = dim;
+            this.record = new byte[bytesFor(dim)];
+        }
+
+        public void write(byte[] state) throws IOException {
+            if (state.length != dim * dim)
+                throw new IOException("a " + dim + "x" + dim + " file can't hold " + state.length + " cells");
+            if (bitsFor(dim) == 8) System.arraycopy(state, 0, record, 0, state.length);
+            else {
+                Arrays.fill(record, (byte)0);
+                for (int n = 0; n < state.length; n++)
+                    record[n >>> 1] |= (byte)(state[n] << ((~n & 1) << 2));
+            }
+            out.write(record);
+        }
+
+        public void close() throws IOException { out.close(); }
+
+        private final DataOutputStream out;
+        private final int              dim;
+        private final byte[]           record;
+    }
+
+    public static class ResultWriter implements Closeable {
+        public ResultWriter(File file, boolean withMoves) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+            writeHeader(out, RESULTS, 0, withMoves ? WITH_MOVES : 0, 0);
+            this.withMoves = withMoves;
+        }
+
+        public void write(long board, SolveResult result) throws IOException {
+            out.writeLong(board);
+            out.writeByte(result.method().ordinal());
+            out.writeByte(result.heuristic().ordinal());
+            out.writeByte(encodeOrder(result.order()));
+            out.writeByte(result.dimension());
+            out.writeInt(result.cost());
+            out.writeLong(result.expanded());
+            out.writeLong(result.maxDepth());
+            out.writeLong(result.elapsed());
+            out.writeLong(result.memory());
+            if (withMoves) writeMoves(out, result.path());
+        }
+
+        public void close() throws IOException { out.close(); }
+
+        private final DataOutputStream out;
+        private final boolean          withMoves;
+    }
+
+    // one record of a results file
+    public static class Result {
+        public long            board;
+        public Solver.Method   method;
+        public Board.Heuristic heuristic;
+        public String          order;
+        public int             dim;
+        public int             cost;
+        public long            expanded;
+        public long            maxDepth;
+        public long            elapsed;
+        public long            memory;
+        // null when the file was written without them
+        public int[]           moves;
+
+        // the same columns as SolveResult.toCSV(), with the board
+        // number where that has the board's hash code
+        public String toCSV() {
+            StringBuilder temp = new StringBuilder();
+            temp.append(board).append(',');
+            temp.append(method.name()).append(',');
+            if (method.isInformed()) temp.append(heuristic.name());
+            temp.append(',').append(order);
+            temp.append(',').append(dim);
+            temp.append(',').append(cost);
+            temp.append(',').append(expanded);
+            temp.append(',').append(maxDepth);
+            temp.append(',').append(elapsed);
+            temp.append(',').append(memory);
+            return temp.toString();
+        }
+    }
+
+    public static class ResultReader implements Closeable {
+        public ResultReader(File file) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+            try {
+                if (in.readInt() != MAGIC)    throw new IOException(file + " is not a batch file");
+                if (in.readInt() != VERSION)  throw new IOException(file + " is the wrong version");
+                if (in.readByte() != RESULTS) throw new IOException(file + " does not hold results");
+                in.readByte();
+                withMoves = (in.readByte() & WITH_MOVES) != 0;
+                in.readByte();
+            } catch (IOException e) {
+                in.close();
+                throw e instanceof EOFException ? new IOException(file + " is truncated") : e;
+            }
+        }
+
+        // the next record, null when there are no more
+        public Result next() throws IOException {
+            Result r = new Result();
+            try {
+                r.board = in.readLong();
+            } catch (EOFException e) {
+                return null;
+            }
+            try {
+                int method    = in.readUnsignedByte();
+                int heuristic = in.readUnsignedByte();
+                if (method    >= Solver.Method.values().length ||
+                    heuristic >= Board.Heuristic.values().length) throw new IOException("bad record");
+                r.method    = Solver.Method.values()[method];
+                r.heuristic = Board.Heuristic.values()[heuristic];
+                r.order     = decodeOrder(in.readUnsignedByte());
+                r.dim       = in.readUnsignedByte();
+                r.cost      = in.readInt();
+                r.expanded  = in.readLong();
+                r.maxDepth  = in.readLong();
+                r.elapsed   = in.readLong();
+                r.memory    = in.readLong();
+                if (withMoves) r.moves = readMoves(in);
+            } catch (EOFException e) {
+                throw new IOException("truncated record at the end of the file");
+            }
+            return r;
+        }
+
+        public void close() throws IOException { in.close(); }
+
+        private final DataInputStream in;
+        private final boolean         withMoves;
+    }
+
+    private static void writeHeader(DataOutputStream out, int kind, int dim, int flags, int bits)
+            throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeByte(kind);
+        out.writeByte(dim);
+        out.writeByte(flags);
+        out.writeByte(bits);
+    }
+
+    private static int bitsFor(int dim)  { return dim <= 4 ? 4 : 8; }
+    private static int bytesFor(int dim) { return (dim * dim * bitsFor(dim) + 7) / 8; }
+
+    static int encodeOrder(String order) {
+        int code = 0;
+        for (int i = 0; i < Board.DIRECTIONS; i++)
+            code = code << 2 | LETTERS.indexOf(order.charAt(i));
+        return code;
+    }
+
+    static String decodeOrder(int code) {
+        char[] order = new char[Board.DIRECTIONS];
+        for (int i = Board.DIRECTIONS - 1; i >= 0; i--, code >>>= 2)
+            order[i] = LETTERS.charAt(code & 3);
+        return new String(order);
+    }
+
+    private static void writeMoves(DataOutputStream out, int[] moves) throws IOException {
+        out.writeInt(moves.length);
+        for (int i = 0; i < moves.length; i += 4) {
+            int packed = 0;
+            for (int j = i; j < i + 4; j++)
+                packed = packed << 2 | (j < moves.length ? moves[j] : 0);
+            out.writeByte(packed);
+        }
+    }
+
+    private static int[] readMoves(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) throw new IOException("bad record");
+        int[] moves = new int[count];
+        for (int i = 0; i < count; i += 4) {
+            int packed = in.readUnsignedByte();
+            for (int j = i; j < i + 4; j++)
+                if (j < count) moves[j] = packed >>> 2 * (3 - (j - i)) & 3;
+        }
+        return moves;
+    }
+
+    // a board the way it's written in the text files
+    static String toLine(byte[] state) {
+        StringBuilder line = new StringBuilder(3 * state.length);
+        for (int n = 0; n < state.length; n++) {
+            if (n > 0) line.append(' ');
+            line.append(state[n]);
+        }
+        return line.toString();
+    }
+
+    private static void usage() {
+        System.out.println("Converts between the text and binary batch formats:");
+        System.out.println("    java -cp Solver.jar npuzzle.BatchFile -tobin   boards.txt boards.bin");
+        System.out.println("    java -cp Solver.jar npuzzle.BatchFile -totext  boards.bin boards.txt");
+        System.out.println("    java -cp Solver.jar npuzzle.BatchFile -tocsv   [-moves] results.bin results.csv");
+        System.out.println("    java -cp Solver.jar npuzzle.BatchFile -fromcsv results.csv results.bin");
+        System.out.println("-tocsv writes the same 10 columns as -csv; with -moves it adds the solutions");
+        System.out.println("as an 11th column when the file has them.");
+    }
+
+    public static void main(String ... args) {
+        // -moves only goes with -tocsv, before the file names
+        boolean withMoves = args.length == 4 && args[0].equalsIgnoreCase("-tocsv")
+                                             && args[1].equalsIgnoreCase("-moves");
+        if (args.length != (withMoves ? 4 : 3)) {
+            usage();
+            System.exit(1);
+        }
+        File from = new File(args[args.length - 2]);
+        File to   = new File(args[args.length - 1]);
+        long count = 0;
+        try {
+            switch (args[0].toLowerCase()) {
+                case "-tobin":   count = toBinary(from, to);          break;
+                case "-totext":  count = toText(from, to);            break;
+                case "-tocsv":   count = toCSV(from, to, withMoves); break;
+                case "-fromcsv": count = fromCSV(from, to);           break;
+                default:
+                    usage();
+                    System.exit(1);
+            }
+        } catch (IOException e) {
+            System.out.println("failed: " + e.getMessage());
+            System.exit(1);
+        }
+        System.out.println(count + " records written to " + to);
+    }
+
+    // text boards to binary.  blank lines and # comments are dropped, and
+    // every board has to be the same size as the first
+    static long toBinary(File from, File to) throws IOException {
+        long count = 0;
+        BoardWriter out = null;
+        try (LineReader in = new LineReader(new FileInputStream(from))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.length() < 1 || line.charAt(0) == '#') continue;
+                byte[] state = Board.parse(line);
+                if (out == null) {
+                    int dim = (int)Math.sqrt((double)state.length);
+                    if (dim < 2 || dim * dim != state.length) throw new IOException("not a board: " + line);
+                    out = new BoardWriter(to, dim);
+                }
+                out.write(state);
+                count++;
+            }
+        } finally {
+            if (out != null) out.close();
+        }
+        return count;
+    }
+
+    static long toText(File from, File to) throws IOException {
+        long count = 0;
+        try (BoardReader in  = new BoardReader(from);
+             PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(to), BUFFER_SIZE))) {
+            byte[] state;
+            while ((state = in.next()) != null) {
+                out.println(toLine(state));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // the columns of -csv, so plot.R and -fromcsv read it the same.  with
+    // moves, the solution as one more column of U, R, L, D when there is one
+    static long toCSV(File from, File to, boolean withMoves) throws IOException {
+        long count = 0;
+        try (ResultReader in  = new ResultReader(from);
+             PrintWriter  out = new PrintWriter(new BufferedWriter(new FileWriter(to), BUFFER_SIZE))) {
+            Result r;
+            StringBuilder moves = new StringBuilder();
+            while ((r = in.next()) != null) {
+                if (!withMoves || r.moves == null) out.println(r.toCSV());
+                else {
+                    moves.setLength(0);
+                    for (int dir: r.moves) moves.append(LETTERS.charAt(dir));
+                    out.println(r.toCSV() + "," + moves);
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // the CSV from -csv back to binary, without solutions since the CSV
+    // doesn't have them.  the first column, a hash code there, becomes the
+    // board number.  lines that don't parse, like a header, are skipped
+    static long fromCSV(File from, File to) throws IOException {
+        long count = 0;
+        try (BufferedReader   in  = new BufferedReader(new FileReader(from), BUFFER_SIZE);
+             DataOutputStream out = new DataOutputStream(
+                                        new BufferedOutputStream(new FileOutputStream(to), BUFFER_SIZE))) {
+            writeHeader(out, RESULTS, 0, 0, 0);
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] f = line.split(",", -1);
+                if (f.length < 10) continue;
+                Result r = new Result();
+                try {
+                    r.board     = Long.parseLong(f[0].trim());
+                    r.method    = Solver.Method.valueOf(f[1].trim());
+                    r.heuristic = f[2].trim().isEmpty() ? Board.Heuristic.NA
+                                                        : Board.Heuristic.valueOf(f[2].trim());
+                    r.order     = f[3].trim().toUpperCase();
+                    r.dim       = Integer.parseInt(f[4].trim());
+                    r.cost      = Integer.parseInt(f[5].trim());
+                    r.expanded  = Long.parseLong(f[6].trim());
+                    r.maxDepth  = Long.parseLong(f[7].trim());
+                    r.elapsed   = Long.parseLong(f[8].trim());
+                    r.memory    = Long.parseLong(f[9].trim());
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                if (Board.parseOrder(r.order) == null) continue;
+                out.writeLong(r.board);
+                out.writeByte(r.method.ordinal());
+                out.writeByte(r.heuristic.ordinal());
+                out.writeByte(encodeOrder(r.order));
+                out.writeByte(r.dim);
+                out.writeInt(r.cost);
+                out.writeLong(r.expanded);
+                out.writeLong(r.maxDepth);
+                out.writeLong(r.elapsed);
+                out.writeLong(r.memory);
+                count++;
+            }
+        }
+        return count;
+    }
+}
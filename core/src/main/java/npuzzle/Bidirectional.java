@@ -0,0 +1,254 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-10-27
+// Bidirectional.java
+// searches from the initial board and from the goal at the same time and
+// stops where they meet.  BDB grows both sides a whole breadth first layer
+// at a time, BDA is MM (bidirectional A*, Holte et al. 2016) with manhattan
+// distance to the goal going forward and to the initial board going back.
+// both sides keep packed states in a LongHashSet with the depth of each,
+// which is enough to walk from the meeting point back to either end, so
+// only boards that pack (up to 5x5) can be searched this way.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.Arrays;
+public class Bidirectional {
+
+    // one direction of the search
+    private class Side {
+        LongHashSet        seen  = new LongHashSet(width, 1 << 16, true);
+        BucketQueue<long[]> open = new BucketQueue<long[]>();  // BDA
+        long[]             layer = new long[64];               // BDB
+        int                count;
+        int                depth;
+        byte[]             target;   // where this side is headed
+        int[]              home;     // position of each tile in target
+    }
+
+    public Bidirectional(Board initial, Solver.Method method) {
+        if (initial.packedWidth() == 0) throw new IllegalArgumentException();
+        this.game    = initial.game();
+        this.method  = method;
+        this.width   = initial.packedWidth();
+        this.cells   = game.cells;
+        this.state   = new byte[cells];
+        this.key     = new long[2];
+        byte[] goal = new byte[cells];
+        for (int n = 0; n < cells; n++) goal[n] = (byte)n;
+        forward  = side(initial.getState().clone(), goal);
+        backward = side(goal, initial.getState().clone());
+    }
+
+    private Side side(byte[] from, byte[] to) {
+        Side s   = new Side();
+        s.target = to;
+        s.home   = new int[cells];
+        for (int n = 0; n < cells; n++) s.home[to[n]] = n;
+        pack(from);
+        s.seen.put(key[0], key[1], 0);
+        s.layer[0] = key[0];
+        s.layer[1] = key[1];
+        s.count    = 1;
+        int h = manhattan(from, s.home);
+        s.open.add(new long[] { key[0], key[1], 0 }, h, 0);
+        return s;
+    }
+
+    public boolean search() {
+        pack(forward.target);
+        if (forward.seen.get(key[0], key[1]) == 0) {
+            meet  = new long[] { key[0], key[1] };
+            total = 0;
+        } else if (method == Solver.Method.BDA) {
+            searchMM();
+        } else {
+            searchLayers();
+        }
+        if (meet == null) return false;
+        // walk back to the initial board, then reverse, then on to the goal
+        byte[] back = walk(forward);
+        byte[] on   = walk(backward);
+        path = new byte[back.length + on.length];
+        for (int i = 0; i < back.length; i++)
+            path[i] = (byte)(Board.DIRECTIONS - 1 - back[back.length - 1 - i]);
+        System.arraycopy(on, 0, path, back.length, on.length);
+        return true;
+    }
+
+    // expand the smaller frontier by one full layer.  the puzzle graph is
+    // bipartite, so the first layer that touches the other side gives an
+    // optimal path, but every hit in that layer is checked for the shortest
+    private void searchLayers() {
+        while (forward.count > 0 && backward.count > 0) {
+            if (forward.count + backward.count > maxDepth)
+                maxDepth = forward.count + backward.count;
+            Side grow  = forward.count <= backward.count ? forward : backward;
+            Side other = grow == forward ? backward : forward;
+            long[] next  = new long[64];
+            int    added = 0;
+            for (int i = 0; i < grow.count; i++) {
+                unpack(grow.layer, i);
+                numExpanded++;
+                int zero = zeroOf();
+                for (int dir: game.order()) {
+                    int to = game.successor[dir][zero];
+                    if (to < 0) continue;
+                    move(zero, to);
+                    pack(state);
+                    if (grow.seen.get(key[0], key[1]) < 0) {
+                        grow.seen.put(key[0], key[1], grow.depth + 1);
+                        if (2 * (added + 1) > next.length) next = Arrays.copyOf(next, 2 * next.length);
+                        next[2 * added]     = key[0];
+                        next[2 * added + 1] = key[1];
+                        added++;
+                        int there = other.seen.get(key[0], key[1]);
+                        if (there >= 0 && (meet == null || grow.depth + 1 + there < total)) {
+                            meet  = new long[] { key[0], key[1] };
+                            total = grow.depth + 1 + there;
+                        }
+                    }
+                    move(to, zero);
+                }
+            }
+            grow.layer = next;
+            grow.count = added;
+            grow.depth++;
+            if (meet != null) return;
+        }
+    }
+
+    // MM: each side orders its open list by max(f, 2g), so neither side
+    // goes past the middle of the optimal path.  the best meeting found so
+    // far is optimal once no open node on either side could beat it.
+    private void searchMM() {
+        while (!forward.open.isEmpty() && !backward.open.isEmpty()) {
+            if (forward.open.size() + backward.open.size() > maxDepth)
+                maxDepth = forward.open.size() + backward.open.size();
+            int  lowF  = forward.open.minF();
+            int  lowB  = backward.open.minF();
+            if (meet != null && total <= Math.min(lowF, lowB)) return;
+            Side grow  = lowF <= lowB ? forward : backward;
+            Side other = grow == forward ? backward : forward;
+            long[] node = grow.open.remove();
+            int g = (int)node[2];
+            // a cheaper copy was queued after this one
+            if (grow.seen.get(node[0], node[1]) < g) continue;
+            numExpanded++;
+            if (width == 1) Board.unpack(node[0], state);
+            else            Board.unpack(node[0], node[1], state);
+            int zero = zeroOf();
+            for (int dir: game.order()) {
+                int to = game.successor[dir][zero];
+                if (to < 0) continue;
+                move(zero, to);
+                pack(state);
+                int before = grow.seen.get(key[0], key[1]);
+                if (before < 0 || before > g + 1) {
+                    grow.seen.put(key[0], key[1], g + 1);
+                    int f = g + 1 + manhattan(state, grow.home);
+                    grow.open.add(new long[] { key[0], key[1], g + 1 }, Math.max(f, 2 * (g + 1)), g + 1);
+                    int there = other.seen.get(key[0], key[1]);
+                    if (there >= 0 && (meet == null || g + 1 + there < total)) {
+                        meet  = new long[] { key[0], key[1] };
+                        total = g + 1 + there;
+                    }
+                }
+                move(to, zero);
+            }
+        }
+    }
+
+    // moves of the blank from the meeting point to the start of one side.
+    // every state but the start has a neighbor that was reached in fewer
+    // moves, and taking any of them can't give a longer path than the
+    // meeting cost, which is already optimal
+    private byte[] walk(Side side) {
+        if (width == 1) Board.unpack(meet[0], state);
+        else            Board.unpack(meet[0], meet[1], state);
+        pack(state);
+        int    here  = side.seen.get(key[0], key[1]);
+        byte[] moves = new byte[here];
+        int    n     = 0;
+        while (here > 0) {
+            int zero = zeroOf();
+            int best = -1;
+            int to   = here;
+            for (int dir = 0; dir < Board.DIRECTIONS; dir++) {
+                int next = game.successor[dir][zero];
+                if (next < 0) continue;
+                move(zero, next);
+                pack(state);
+                int there = side.seen.get(key[0], key[1]);
+                if (there >= 0 && there < to) { best = dir; to = there; }
+                move(next, zero);
+            }
+            move(zero, game.successor[best][zero]);
+            moves[n++] = (byte)best;
+            here = to;
+        }
+        return Arrays.copyOf(moves, n);
+    }
+
+    // slide the tile at 'to' into the blank at 'from'
+    private void move(int from, int to) {
+        state[from] = state[to];
+        state[to]   = 0;
+    }
+
+    private int zeroOf() {
+        for (int n = 0; ; n++) if (state[n] == 0) return n;
+    }
+
+    private void pack(byte[] s) {
+        if (width == 1) {
+            key[0] = Board.pack(s);
+        } else {
+            key[0] = Board.pack5(s, 0);
+            key[1] = Board.pack5(s, 12);
+        }
+    }
+
+    private void unpack(long[] layer, int i) {
+        if (width == 1) Board.unpack(layer[2 * i], state);
+        else            Board.unpack(layer[2 * i], layer[2 * i + 1], state);
+    }
+
+    private int manhattan(byte[] s, int[] home) {
+        int sum = 0;
+        for (int n = 0; n < cells; n++)
+            if (s[n] != 0)
+                sum += Math.abs(game.rowOf[n] - game.rowOf[home[s[n]]]) +
+                       Math.abs(game.colOf[n] - game.colOf[home[s[n]]]);
+        return sum;
+    }
+
+    public int  moves()       { return path.length; }
+    public int  move(int i)   { return path[i];     }
+    public long numExpanded() { return numExpanded; }
+    public long maxDepth()    { return maxDepth;    }
+
+    // both hash tables, plus the open lists or the two layers
+    public long bytes() {
+        long open = method == Solver.Method.BDA
+                  ? 40L * (forward.open.size() + backward.open.size())
+                  : 8L * (forward.layer.length + backward.layer.length);
+        return forward.seen.bytes() + backward.seen.bytes() + open;
+    }
+
+    // private variables
+    private final Game          game;
+    private final Solver.Method method;
+    private final int           width;
+    private final int           cells;
+    private final byte[]        state;
+    private final long[]        key;
+    private final Side          forward;
+    private final Side          backward;
+    private long[]              meet;
+    private int                 total;
+    private byte[]              path;
+    private long                numExpanded;
+    private long                maxDepth;
+}
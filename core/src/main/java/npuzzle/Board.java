@@ -0,0 +1,476 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-09-11
+// Board.java 
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Iterator;
+import java.util.Arrays;
+import java.io.File;
+import java.util.Scanner;
+import java.io.IOException;
+import java.util.regex.Pattern;
+import java.lang.ArrayIndexOutOfBoundsException;
+import java.lang.CharSequence;
+public class Board {
+    
+    public enum Heuristic {
+        HAM, MAN, INT, PDB, WD, NA
+    }
+    
+    // constants:
+    // directions
+    public static final int UP         = 0;
+    public static final int RIGHT      = 1;
+    public static final int LEFT       = 2;
+    public static final int DOWN       = 3;
+    public static final int DIRECTIONS = 4;
+
+    // ANSI colors 
+    private static final String ANSI_BOLD   = "\033[1m";   
+    private static final String ANSI_RESET  = "\033[0;0m";
+    
+    // according to Burns, et all 2012 the average best order for 
+    // all solvable games of 3x3 and 4x4 is URLD
+    // my own findings with a sample set of games confirms
+    // (the most affected by order is DFS)
+            
+    // default order for new games, set from the command line
+    private static int[] ORDER = { Board.UP, Board.RIGHT, Board.LEFT, Board.DOWN };
+
+    // read board state from a string
+    // should only be performed for the initial game board
+    public Board(String blocks, Heuristic h, int[] order) {
+        state = parse(blocks);
+        for (int i = 0; i < state.length; i++) {
+            if (state[i] == 0) zero = i;
+        }
+        int dim = (int)Math.sqrt((double)state.length);
+        if (state.length != dim*dim) {
+            System.out.println("  Invalid input length.");
+        }
+        // everything that won't change during the game, including lookup tables
+        game = new Game(dim, h, order != null ? order : Board.ORDER);
+        // perform initial state cost analysis
+        if (isValid()) {
+            dist  = game.startDist(this);
+            inter = game.startInter(this);
+            walk  = game.startWalk(this);
+        }
+
+        // check solvability
+        // based on counting inversions
+        // for odd dim, an even number of inversions is solvable, and odd is not
+        // for even dim, the number of inversions correlates with row of zero position
+        switch (dim % 2) {
+            case 1: game.solvable = (inversions() % 2) == 0;            break;
+            case 0: game.solvable = (inversions() % 2) == (zero/dim)%2; break;
+        }
+    }
+
+    // the numbers at the start of a line, up to the first thing that isn't
+    // one, the way Scanner.hasNextInt() used to stop.  without the regular
+    // expressions this is most of the cost of reading a big batch
+    static byte[] parse(String blocks) {
+        byte[] cells  = new byte[16];
+        int    count  = 0;
+        int    length = blocks.length();
+        int    i      = 0;
+        while (true) {
+            while (i < length && Character.isWhitespace(blocks.charAt(i))) i++;
+            if (i == length) break;
+            int     start    = i;
+            boolean signed   = blocks.charAt(i) == '-' || blocks.charAt(i) == '+';
+            if (signed) i++;
+            int value = 0;
+            while (i < length && blocks.charAt(i) >= '0' && blocks.charAt(i) <= '9') {
+                value = value * 10 + blocks.charAt(i) - '0';
+                i++;
+            }
+            if (i == start + (signed ? 1 : 0) ||
+                (i < length && !Character.isWhitespace(blocks.charAt(i)))) break;
+            if (blocks.charAt(start) == '-') value = -value;
+            if (count == cells.length) cells = Arrays.copyOf(cells, 2 * count);
+            cells[count++] = (byte)value;
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    // default to iterative manhattan + interference and URLD order
+    public Board(String blocks) { this(blocks, Heuristic.INT, null); }
+    public Board(String blocks, Heuristic heuristic) {
+        this(blocks, heuristic, null);
+    }
+
+    public static boolean setOrder(String order) {
+        int[] parsed = parseOrder(order);
+        if (parsed == null) return false;
+        Board.ORDER = parsed;
+        return true;
+    }
+
+    // turn a string like "URLD" into directions, null if it isn't
+    // some permutation of all four
+    public static int[] parseOrder(String order) {
+        boolean isValid  = true;
+        boolean hasUp    = false;
+        boolean hasDown  = false;
+        boolean hasRight = false;
+        boolean hasLeft  = false;
+        if (order == null || order.length() != 4) return null;
+        int[] parsed = new int[Board.DIRECTIONS];
+        order = order.toUpperCase();
+        for (int i = 0; i < order.length(); i++)
+            switch(order.charAt(i)) {
+                case 'U': if (hasUp) isValid = false;
+                          else parsed[i] = Board.UP;
+                          hasUp = true;
+                          break;
+                case 'D': if (hasDown) isValid = false;
+                          else parsed[i] = Board.DOWN;
+                          hasDown = true;
+                          break;
+                case 'L': if (hasLeft) isValid = false;
+                          else parsed[i] = Board.LEFT;
+                          hasLeft = true;
+                          break;
+                case 'R': if (hasRight) isValid = false;
+                          else parsed[i] = Board.RIGHT;
+                          hasRight = true;
+                          break;
+                default : isValid = false;
+            }
+         return isValid ? parsed : null;
+    }
+    public String order() { return game.orderName(); }
+    public static String getOrder() {
+        StringBuffer temp = new StringBuffer();
+        for (int i: Board.ORDER)
+           switch(i) {
+               case Board.UP:    temp.append("U"); break;
+               case Board.DOWN:  temp.append("D"); break;
+               case Board.RIGHT: temp.append("R"); break;
+               case Board.LEFT:  temp.append("L"); break;
+           }
+        return temp.toString();
+    }
+    // check if a board is valid
+    // this should be done only once per game - exception catching is expensive
+    public boolean isValid() {
+        if (state.length != game.dim*game.dim) return false;
+        if ((double)game.dim != Math.sqrt((double)state.length)) return false;
+        byte[] counts = new byte[state.length];
+        try {
+            for (int i = 0; i < counts.length; i++) counts[state[i]]++;
+        } catch (ArrayIndexOutOfBoundsException e) { return false; }
+        for (int i = 0; i < counts.length; i++) if (counts[i] != 1) return false;
+        return true;
+    }
+
+    public int inversions() {
+        int total = 0;
+        for (int i = 0; i < state.length; i++)
+            if (state[i] != 0)
+                for( int j = i + 1; j < state.length; j++)
+                    if (state[j] != 0 && state[i] > state[j]) total++;
+        return total;
+    }
+
+    // This counts the interference for the entire board.
+    // Should be run only for the initial game state,
+    // conflictDelta() iteratively modifies it for successor states.
+    // for each row and column, the fewest of the tiles that belong on it
+    // that have to step off and back on before the rest are in order.
+    // each of those is 2 moves on top of manhattan.  counting every pair
+    // in conflict instead overestimates: three tiles in reverse order are
+    // three pairs, but only two of them need to step aside
+    public int conflicts() {
+        int total = 0;
+        if (!isValid()) return 0;
+        for (int line = 0; line < game.dim; line++) {
+            total = total + removals(game, state, line * game.dim, 1,        -1, -1);
+            total = total + removals(game, state, line,            game.dim, -1, -1);
+        }
+        return total; 
+    }
+    
+    // read board state explicitly - used for making neighbors
+    // the swap() method is responsible for setting the other vars
+    private Board(byte [] blocks, Game game) {
+        this.state = Arrays.copyOf(blocks, blocks.length);
+        this.game  = game;
+    }
+
+    // the move pruning state of the path to this board
+    int fsm() { return fsm; }
+
+    // fill the buffer with the neighbors in the game's order and return
+    // how many there are.  with a move pruning automaton, moves that would
+    // finish a redundant sequence aren't made, and each child remembers
+    // where it got to
+    public int neighbors(Board[] into, MovePruning pruning) {
+        int count = 0;
+        for (int dir: game.order) {
+            if (game.successor[dir][zero] < 0) continue;
+            if (pruning == null) { into[count++] = moveTo(dir); continue; }
+            int next = pruning.next(fsm, dir);
+            if (next == MovePruning.PRUNED) continue;
+            Board b = moveTo(dir);
+            b.fsm   = next;
+            into[count++] = b;
+        }
+        return count;
+    }
+
+    private List<Board> findNeighbors(MovePruning pruning) {
+        Board[] nb = new Board[Board.DIRECTIONS];
+        return Arrays.asList(nb).subList(0, neighbors(nb, pruning));
+    }
+
+    public void      setOrder(int[] order) {
+        System.arraycopy(order, 0, game.order, 0, Board.DIRECTIONS);
+    }
+    public Game      game()       { return game; }
+    public boolean   isSolvable() { return game.solvable; }
+    public int       dimension()  { return game.dim;}
+    public Heuristic heuristic()  { return game.heuristic;}
+    public int       distance()   { return game.cost(dist, inter, walk); }
+
+    // simple heuristic - count cells out of place
+    public int hamming() { 
+        int total = 0;
+        for (int n = 0; n < state.length; n++) 
+            if (state[n] != 0 && state[n] != n) total++;
+        return total;
+    }
+
+    // manhattan distance heuristic
+    // used to calc distance for original board only.
+    // table lookup results in about 25% performance improvement
+    public int manhattan() {
+        int total = 0;
+        if (!isValid()) return 0;
+        for (int n = 0; n < state.length; n++)
+            total = total + game.manhattanTable[state[n]][n];
+        return total; 
+    }
+
+    // swaps the zero position to create a new neighbor, and 
+    // incrementally updates manhattan distance and 
+    // interference if we're using them
+    Board moveTo(int direction) {
+        if (direction < 0 || direction >= Board.DIRECTIONS) return null;
+        int oZ = this.zero;
+        int nZ = game.successor[direction][oZ];
+        if (nZ < 0) return null;
+        Board newBoard = new Board(this.state, this.game);
+        newBoard.state[oZ] = state[nZ];
+        newBoard.state[nZ] = 0;
+        newBoard.zero      = nZ;
+
+        // update the heuristic iteratively
+        newBoard.dist  = this.dist  + game.distDelta(state, null, oZ, nZ, direction);
+        newBoard.inter = this.inter + game.interDelta(state, oZ, nZ, direction);
+        newBoard.walk  = game.walkAfter(this.walk, state, nZ, direction);
+        return newBoard;
+    }
+
+    // the iterative heuristic updates, split out of moveTo() so that the
+    // in-place searches can use them through Game without building a new Board.
+    // each one looks at the state *before* the tile at nZ slides into
+    // the zero at oZ, and returns the change in value.
+    static int hammingDelta(Game game, byte[] state, int oZ, int nZ) {
+        if      (state[nZ] == oZ) return -1;
+        else if (state[nZ] == nZ) return  1;
+        return 0;
+    }
+
+    static int manhattanDelta(Game game, byte[] state, int oZ, int nZ, int direction) {
+        return game.manhattanDelta[state[nZ]][oZ * Board.DIRECTIONS + direction];
+    }
+
+    // only the line the tile belongs on can change: a sideways move takes
+    // it out of or into its home column, an up or down move out of or into
+    // its home row, and the order of the other tiles stays the same
+    static int conflictDelta(Game game, byte[] state, int oZ, int nZ, int direction) {
+        int tile = state[nZ];
+        int first, step;
+        switch (direction) {
+           case Board.LEFT:
+           case Board.RIGHT:              // LEFT AND RIGHT
+               if (game.colOf[tile] != game.colOf[nZ] &&
+                   game.colOf[tile] != game.colOf[oZ]) return 0;
+               first = game.colOf[tile];
+               step  = game.dim;
+               break;
+           default:                // UP AND DOWN
+               if (game.rowOf[tile] != game.rowOf[nZ] &&
+                   game.rowOf[tile] != game.rowOf[oZ]) return 0;
+               first = game.dim * game.rowOf[tile];
+               step  = 1;
+        }
+        return removals(game, state, first, step, oZ, nZ) -
+               removals(game, state, first, step, -1, -1);
+    }
+
+    // the tiles to take off the line of cells first, first + step, ...
+    // so the ones left are in goal order: those that belong on it less
+    // the longest run of them already in order.  the run is found by
+    // patience sorting, keeping the smallest possible last goal position
+    // of a run of each length; those are all different, so they fit in
+    // the bits of one int.  with oZ >= 0 the tile at nZ is counted as
+    // if it had already slid into oZ
+    private static int removals(Game game, byte[] state, int first, int step, int oZ, int nZ) {
+        boolean row   = step == 1;
+        int     line  = row ? game.rowOf[first] : game.colOf[first];
+        int     home  = 0;
+        int     tails = 0;
+        for (int n = 0, i = first; n < game.dim; n++, i += step) {
+            int tile = i == oZ ? state[nZ] : i == nZ ? 0 : state[i];
+            if (tile == 0 || (row ? game.rowOf[tile] : game.colOf[tile]) != line) continue;
+            int at = row ? game.colOf[tile] : game.rowOf[tile];
+            home++;
+            tails = (tails & ~Integer.lowestOneBit(tails & (-1 << at))) | 1 << at;
+        }
+        return home - Integer.bitCount(tails);
+    }
+
+    public boolean isGoal() { return dist == 0; }
+
+    public boolean equals(Object y) {
+        if (this == y) return true;
+        if (null == y) return false;
+        if (y instanceof Board) 
+            return Arrays.equals(state, ((Board)y).state);
+        return false;
+    }
+
+    public Iterable<Board> neighbors() { return findNeighbors(null); }
+    // only for tree searches, where every board has one path to it
+    public Iterable<Board> neighbors(MovePruning pruning) { return findNeighbors(pruning); }
+
+    public String toString() {
+        StringBuffer temp = new StringBuffer();
+        for (int n = 0; n < state.length; n++) {
+            temp.append(' ');
+            if (game.dim >  3 && state[n] <=  9) temp.append(' ');
+            if (game.dim > 10 && state[n] <= 99) temp.append(' ');
+            if (state[n] == 0)
+                temp.append(ANSI_BOLD + "0" + ANSI_RESET);
+            else temp.append(state[n]);
+            if ((n + 1) % game.dim == 0) temp.append('\n');
+        }
+        return temp.toString();
+    }
+
+    public int    getZero()  { return this.zero; }
+    public byte[] getState() { return this.state;}
+
+    // compact encodings of the state for the closed lists.
+    // up to 4x4 every tile fits in a nibble, so the whole board is one long.
+    // 5x5 needs 5 bits a tile: the first 24 tiles go in two longs of 12,
+    // and the last one is implied since the state is a permutation.
+    public int packedWidth() {
+        if (game.dim <= 4) return 1;
+        if (game.dim == 5) return 2;
+        return 0;
+    }
+
+    public long pack()     { return pack(state);     }
+    public long packHigh() { return pack5(state, 0);  }
+    public long packLow()  { return pack5(state, 12); }
+
+    // the same encodings for a bare state array, and back again
+    static long pack(byte[] state) {
+        long packed = 0;
+        for (int n = 0; n < state.length; n++)
+            packed = (packed << 4) | state[n];
+        return packed;
+    }
+
+    static long pack5(byte[] state, int from) {
+        long packed = 0;
+        for (int n = from; n < from + 12; n++)
+            packed = (packed << 5) | state[n];
+        return packed;
+    }
+
+    static void unpack(long packed, byte[] state) {
+        for (int n = state.length - 1; n >= 0; n--) {
+            state[n] = (byte)(packed & 0xf);
+            packed >>>= 4;
+        }
+    }
+
+    static void unpack(long high, long low, byte[] state) {
+        int sum = 0;
+        for (int n = 11; n >= 0; n--) {
+            state[n]      = (byte)(high & 0x1f);
+            state[n + 12] = (byte)(low  & 0x1f);
+            sum          += state[n] + state[n + 12];
+            high >>>= 5;
+            low  >>>= 5;
+        }
+        state[24] = (byte)(24 * 25 / 2 - sum);
+    }
+
+    // hash code is used only as a unique identifier for a given game for statistics
+    // written to CSV to be visualized in R + ggplot and inserted into tex document
+    // it is way slower than wrapping the game state with ByteBuffer
+    // to test when a game state is visited
+    public int hashCode() {
+        return state.hashCode();
+    }
+
+    public static void main(String[] args) {
+
+        Scanner s = new Scanner(System.in);
+        if (args.length > 0) {
+            try {
+                s = new Scanner(new File(args[0]));
+            } catch (IOException e) {};
+        }
+        System.out.println("Board unit test.  Enter board(s) per line, Control-C to exit.");
+        System.out.print(">> ");
+        while (s.hasNextLine()) {
+            Board b = new Board(s.nextLine());
+            b.unitTest();
+            System.out.print(">> ");
+        }
+    }
+
+    private void unitTest() {
+        System.out.println("Input Board:");
+        System.out.println(this.toString());
+        System.out.println("isValid():     " + this.isValid());
+        System.out.println("isSovable():   " + game.solvable);
+        System.out.println("isGoal():      " + this.isGoal());
+        System.out.println("Hamming:       " + this.hamming());
+        System.out.println("Manhattan:     " + this.manhattan());
+        System.out.println("Conflicts:     " + this.conflicts());
+        if (game.heuristic == Heuristic.PDB)
+            System.out.println("Pattern DB:    " + game.patternDB.distance(state, game.scratch));
+        System.out.println("Zero Position: " + this.zero);
+        System.out.println("Neighbors: ");
+        for (Board n: this.neighbors()) {
+                System.out.println("Iterative " + game.heuristic.name()+ " Distance: " + n.distance());
+                if (game.heuristic == Heuristic.INT)
+                    System.out.println("Iterative Conflicts: " + n.inter);
+                System.out.println("Iterative Manhattan: " + n.dist);
+                System.out.println(n.toString());    
+        }    
+    }
+
+    // private variables
+    private Game   game;
+    private byte[] state;
+    private int    zero;
+    private int    dist;
+    private int    inter;
+    private int    walk;   // walking distance state of the rows and columns
+    private int    fsm;    // move pruning state of the path here
+}
@@ -0,0 +1,56 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-10-20
+// BucketQueue.java
+// priority queue for A* where priorities are small integers, for objects.
+// the ordering is IntBucketQueue's: the items sit in a pool of slots, and
+// the queue holds the slot numbers.  a slot freed by remove() is reused by
+// the next add(), so the pool only grows to the most items held at once.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.Arrays;
+public class BucketQueue<T> {
+
+    public BucketQueue() {
+        order = new IntBucketQueue();
+        items = new Object[64];
+        free  = new int[16];
+    }
+
+    public void add(T item, int f, int g) {
+        int slot;
+        if (freed > 0) slot = free[--freed];
+        else {
+            if (used == items.length) items = Arrays.copyOf(items, 2 * used);
+            slot = used++;
+        }
+        items[slot] = item;
+        order.add(slot, f, g);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T remove() {
+        int slot = order.remove();
+        if (slot < 0) return null;
+        T item = (T)items[slot];
+        items[slot] = null;
+        if (freed == free.length) free = Arrays.copyOf(free, 2 * freed);
+        free[freed++] = slot;
+        return item;
+    }
+
+    // the f of the next item remove() would return
+    public int minF() { return order.minF(); }
+
+    public boolean isEmpty() { return order.isEmpty(); }
+    public int     size()    { return order.size();    }
+
+    // private variables
+    private final IntBucketQueue order;
+    private Object[]             items;
+    private int[]                free;    // slots no longer in use
+    private int                  used;    // slots ever handed out
+    private int                  freed;
+}
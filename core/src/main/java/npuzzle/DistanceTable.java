@@ -0,0 +1,176 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-07
+// DistanceTable.java
+// the exact number of moves to the goal from every 3x3 (or 2x2) board.
+// there are only 9! arrangements of the 8-puzzle, half of them solvable, so
+// one breadth first search back from the goal finds them all in a fraction
+// of a second and they fit in a byte each, indexed by the permutation rank
+// of the tile positions (Permutation.rank()).
+// a board is then solved by stepping to any neighbor one move closer until
+// there are none left, and the table is a perfect heuristic to check the
+// costs the searches come up with (-verify).
+//
+// 'Solver -genpdb' also writes it out.  file layout (big endian):
+//   "NDST", version, dimension, number of entries, then the entries.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+public class DistanceTable {
+
+    // the entry for boards that can't reach the goal
+    public static final int UNSOLVABLE = 0xff;
+
+    private static final int MAGIC   = 0x4e445354;    // "NDST"
+    private static final int VERSION = 1;
+
+    private static final DistanceTable[] cached = new DistanceTable[4];
+
+    // file name for a dimension, i.e. dist-3x3.db
+    public static String fileName(int dim) { return "dist-" + dim + "x" + dim + ".db"; }
+
+    // the table for a dimension, read from its file if there is a good
+    // one and worked out otherwise.  null for 4x4 and up
+    public static synchronized DistanceTable forDimension(int dim) {
+        if (dim < 2 || dim >= cached.length) return null;
+        if (cached[dim] == null) {
+            File file = new File(fileName(dim));
+            if (file.exists())
+                try {
+                    cached[dim] = load(file, dim);
+                } catch (IOException e) {
+                    System.err.println("  Warning: " + e.getMessage() + ", working it out instead.");
+                }
+            if (cached[dim] == null) cached[dim] = generate(dim);
+        }
+        return cached[dim];
+    }
+
+    private DistanceTable(int dim, byte[] table) {
+        this.dim   = dim;
+        this.cells = dim * dim;
+        this.table = table;
+    }
+
+    // breadth first from the goal, each layer a list of ranks
+    public static DistanceTable generate(int dim) {
+        int    cells = dim * dim;
+        byte[] table = new byte[(int)Permutation.count(cells)];
+        Arrays.fill(table, (byte)UNSOLVABLE);
+        byte[] state = new byte[cells];
+        int[]  pos   = new int[cells];
+        for (int n = 0; n < cells; n++) state[n] = (byte)n;
+        int[]  layer = { index(state, pos) };
+        int    count = 1;
+        table[layer[0]] = 0;
+        for (int d = 0; count > 0; d++) {
+            int[] next  = new int[Math.max(16, 3 * count)];
+            int   added = 0;
+            for (int i = 0; i < count; i++) {
+                Permutation.unrank(layer[i], state);
+                int zero = 0;
+                while (state[zero] != 0) zero++;
+                for (int dir = 0; dir < Board.DIRECTIONS; dir++) {
+                    int to = neighbor(zero, dir, dim);
+                    if (to < 0) continue;
+                    state[zero] = state[to];
+                    state[to]   = 0;
+                    int idx = index(state, pos);
+                    if ((table[idx] & 0xff) == UNSOLVABLE) {
+                        table[idx] = (byte)(d + 1);
+                        if (added == next.length) next = Arrays.copyOf(next, 2 * added);
+                        next[added++] = idx;
+                    }
+                    state[to]   = state[zero];
+                    state[zero] = 0;
+                }
+            }
+            layer = next;
+            count = added;
+        }
+        return new DistanceTable(dim, table);
+    }
+
+    // where the blank goes, -1 off the edge
+    private static int neighbor(int zero, int dir, int dim) {
+        switch (dir) {
+            case Board.UP:    return zero >= dim               ? zero - dim : -1;
+            case Board.DOWN:  return zero < dim * (dim - 1)    ? zero + dim : -1;
+            case Board.LEFT:  return zero % dim != 0           ? zero - 1   : -1;
+            default:          return zero % dim != dim - 1     ? zero + 1   : -1;
+        }
+    }
+
+    // every board has its own entry, so the unsolvable ones can say so
+    private static int index(byte[] state, int[] pos) {
+        return (int)Permutation.rank(state, pos);
+    }
+
+    // moves to the goal, or UNSOLVABLE
+    public int distance(byte[] state) {
+        return table[index(state, new int[cells])] & 0xff;
+    }
+
+    // the boards from this one to the goal, each a move closer than the
+    // last.  null if the goal can't be reached
+    public Board[] solve(Board initial) {
+        int d = distance(initial.getState());
+        if (d == UNSOLVABLE) return null;
+        Board[] path = new Board[d + 1];
+        path[0] = initial;
+        for (int i = 1; i <= d; i++)
+            for (Board b: path[i - 1].neighbors())
+                if (distance(b.getState()) == d - i) {
+                    path[i] = b;
+                    break;
+                }
+        return path;
+    }
+
+    public int  dimension() { return dim;          }
+    public long bytes()     { return table.length; }
+
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                 new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(dim);
+            out.writeInt(table.length);
+            out.write(table);
+        }
+    }
+
+    public static DistanceTable load(File file, int dim) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                 new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC)   throw new IOException(file + " is not a distance table");
+            if (in.readInt() != VERSION) throw new IOException(file + " is the wrong version");
+            int cells = dim * dim;
+            if (in.readInt() != dim ||
+                in.readInt() != (int)Permutation.count(cells))
+                                         throw new IOException(file + " is for another board");
+            byte[] table = new byte[(int)Permutation.count(cells)];
+            in.readFully(table);
+            return new DistanceTable(dim, table);
+        } catch (EOFException e) {
+            throw new IOException(file + " is truncated");
+        }
+    }
+
+    // private variables
+    private final int    dim;
+    private final int    cells;
+    private final byte[] table;
+}
@@ -0,0 +1,439 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-10-30
+// FrontierBFS.java
+// breadth first search that keeps no closed list.  a layer is a sorted array
+// of packed states, each carrying 4 'used operator' bits for the moves that
+// lead back to the layer before.  the puzzle graph is bipartite, so the only
+// duplicates left are within the layer being built, and sorting it finds
+// those.  when a layer outgrows the memory budget it is sorted in runs that
+// are written to disk delta compressed, then merged back into one file, at
+// most MAX_RUNS at a time.
+// finished layers are kept (on disk if need be) so the path can be found by
+// walking back from the goal one layer at a time.  boards up to 4x4 only:
+// the state plus the operator bits has to fit in a long.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+public class FrontierBFS {
+
+    // runs open at once in a merge, each with its own read buffer
+    private static final int MAX_RUNS = 64;
+
+    // bytes of heap the layers may use before going to disk, by default
+    public static final long BUDGET = 256L << 20;
+
+    public static boolean fits(Board board) { return board.dimension() <= 4; }
+
+    // told about each layer as it finishes
+    public interface Progress {
+        void layer(int depth, int states, boolean onDisk);
+    }
+
+    // a finished layer, either a sorted array or a sorted file
+    private static class Layer {
+        long[] values;
+        File   file;
+        int    count;
+
+        long bytes() { return values == null ? 0 : 8L * values.length; }
+    }
+
+    // budget is the bytes of heap the layers may use before going to disk.
+    // exhaustive keeps going past the goal until every reachable state is
+    // counted, and progress is told about each layer as it finishes,
+    // null for nowhere
+    public FrontierBFS(Board initial, long budget, boolean exhaustive, Progress progress) {
+        if (!fits(initial) || budget < 1) throw new IllegalArgumentException();
+        this.budget     = budget;
+        this.exhaustive = exhaustive;
+        this.progress   = progress;
+        this.game   = initial.game();
+        this.cells  = game.cells;
+        this.state  = new byte[cells];
+        // half the budget for building the next layer, the rest for the ones
+        // before, so the buffer and the layers kept in memory stay within it
+        this.limit  = (int)Math.min(Integer.MAX_VALUE - 8, Math.max(1024, budget / 16));
+        this.buffer = new long[Math.min(limit, 1 << 16)];
+        byte[] goal = new byte[cells];
+        for (int n = 0; n < cells; n++) goal[n] = (byte)n;
+        this.goalKey = key(goal);
+        Layer first  = new Layer();
+        first.values = new long[] { entry(key(initial.getState()), 0) };
+        first.count  = 1;
+        layers.add(first);
+    }
+
+    public boolean search() {
+        try {
+            int  found = goalIn(layers.get(0)) ? 0 : -1;
+            report(0);
+            while (layers.get(layers.size() - 1).count > 0 && (found < 0 || exhaustive)) {
+                Layer next = expand(layers.get(layers.size() - 1));
+                layers.add(next);
+                if (next.count > 0) report(layers.size() - 1);
+                if (found < 0 && goalIn(next)) found = layers.size() - 1;
+                long held = held();
+                if (held > peakBytes) peakBytes = held;
+            }
+            if (found >= 0) path = walkBack(found);
+            return found >= 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (Layer l: layers) if (l.file != null) l.file.delete();
+        }
+    }
+
+    // every child of every state in the layer, sorted and without duplicates
+    private Layer expand(Layer layer) throws IOException {
+        ArrayList<File> runs = new ArrayList<File>();
+        int   size   = 0;
+        Cursor c     = new Cursor(layer);
+        while (c.next()) {
+            numExpanded++;
+            long key  = key(c.value);
+            int  used = ops(c.value);
+            unpack(key);
+            int  zero = zeroOf();
+            for (int dir: game.order()) {
+                int to = game.successor[dir][zero];
+                if ((used & (1 << dir)) != 0 || to < 0) continue;
+                state[zero] = state[to];
+                state[to]   = 0;
+                if (size == buffer.length && buffer.length < limit) {
+                    int grow = (int)Math.min(limit, 2L * buffer.length);
+                    spill(8L * (grow - buffer.length));
+                    buffer = Arrays.copyOf(buffer, grow);
+                }
+                if (size == buffer.length) {
+                    size = dedupe(buffer, size);
+                    runs.add(write(buffer, size));
+                    size = 0;
+                }
+                // the way back to this parent is used up for the child
+                buffer[size++] = entry(key(state), 1 << (Board.DIRECTIONS - 1 - dir));
+                state[to]   = state[zero];
+                state[zero] = 0;
+            }
+        }
+        c.close();
+        size = dedupe(buffer, size);
+        Layer next = new Layer();
+        if (runs.isEmpty()) spill(8L * size);
+        if (runs.isEmpty() && held() + 8L * size <= budget) {
+            next.values = Arrays.copyOf(buffer, size);
+            next.count  = size;
+        } else if (runs.isEmpty()) {
+            // no room for a copy next to the buffer, so it is one run on disk
+            next.file   = write(buffer, size);
+            next.count  = size;
+        } else {
+            runs.add(write(buffer, size));
+            merge(runs, next);
+        }
+        if (next.count > maxDepth) maxDepth = next.count;
+        return next;
+    }
+
+    // sort, then fold entries for the same state into one with all their bits
+    private static int dedupe(long[] values, int size) {
+        Arrays.sort(values, 0, size);
+        int out = 0;
+        for (int i = 0; i < size; i++) {
+            if (out > 0 && sameState(values[out - 1], values[i]))
+                 values[out - 1] |= values[i] & 0xf;
+            else values[out++] = values[i];
+        }
+        return out;
+    }
+
+    // k-way merge of the sorted runs into one layer file.  with more runs
+    // than can be open at once, the first MAX_RUNS are merged into one
+    // longer run, as many times as it takes
+    private void merge(ArrayList<File> runs, Layer into) throws IOException {
+        while (runs.size() > MAX_RUNS) {
+            ArrayList<File> group = new ArrayList<File>(runs.subList(0, MAX_RUNS));
+            runs.subList(0, MAX_RUNS).clear();
+            File longer = temp("npuzzle-run");
+            merge(group, longer);
+            runs.add(longer);
+        }
+        into.file  = temp("npuzzle-layer");
+        into.count = merge(runs, into.file);
+    }
+
+    // the runs into one file, folding entries for the same state together,
+    // and the runs deleted.  the cursors are a binary heap on their current
+    // value, so each entry takes log(runs) compares to find
+    private static int merge(ArrayList<File> runs, File to) throws IOException {
+        Cursor[] heap = new Cursor[runs.size()];
+        int      size = 0;
+        for (File f: runs) {
+            Layer run = new Layer();
+            run.file  = f;
+            Cursor c  = new Cursor(run);
+            if (c.next()) heap[size++] = c;
+            else          c.close();
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) siftDown(heap, i, size);
+        Writer out   = new Writer(to);
+        long   held  = 0;
+        boolean have = false;
+        while (size > 0) {
+            long v = heap[0].value;
+            if (!heap[0].next()) {
+                heap[0].close();
+                heap[0] = heap[--size];
+            }
+            siftDown(heap, 0, size);
+            if (have && sameState(held, v)) { held |= v & 0xf; continue; }
+            if (have) out.write(held);
+            held = v;
+            have = true;
+        }
+        if (have) out.write(held);
+        out.close();
+        for (File f: runs) f.delete();
+        return out.count;
+    }
+
+    private static void siftDown(Cursor[] heap, int i, int size) {
+        Cursor c = heap[i];
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1].value < heap[child].value) child++;
+            if (heap[child].value >= c.value) break;
+            heap[i] = heap[child];
+            i       = child;
+        }
+        heap[i] = c;
+    }
+
+    private static File temp(String prefix) throws IOException {
+        File f = File.createTempFile(prefix, ".bin");
+        f.deleteOnExit();
+        return f;
+    }
+
+    private File write(long[] values, int size) throws IOException {
+        File f = temp("npuzzle-run");
+        Writer out = new Writer(f);
+        for (int i = 0; i < size; i++) out.write(values[i]);
+        out.close();
+        return f;
+    }
+
+    // the buffer and the layers in memory
+    private long held() {
+        long held = 8L * buffer.length;
+        for (Layer l: layers) held += l.bytes();
+        return held;
+    }
+
+    // older layers are only needed to walk back at the end, so they go to
+    // disk until there is room for extra more bytes.  the newest one is
+    // being expanded, so it stays
+    private void spill(long extra) throws IOException {
+        long held = held();
+        if (held > peakBytes) peakBytes = held;
+        for (int i = 0; i < layers.size() - 1 && held + extra > budget; i++) {
+            Layer l = layers.get(i);
+            if (l.values == null) continue;
+            held  -= l.bytes();
+            l.file = write(l.values, l.count);
+            l.values = null;
+        }
+    }
+
+    private boolean goalIn(Layer layer) throws IOException {
+        return find(layer, new long[] { goalKey }) >= 0;
+    }
+
+    // which of the keys is in the layer, -1 for none
+    private int find(Layer layer, long[] keys) throws IOException {
+        if (layer.values != null) {
+            for (int k = 0; k < keys.length; k++) {
+                int i = Arrays.binarySearch(layer.values, 0, layer.count, entry(keys[k], 0));
+                if (i < 0) i = -i - 1;
+                if (i < layer.count && key(layer.values[i]) == keys[k]) return k;
+            }
+            return -1;
+        }
+        Cursor c = new Cursor(layer);
+        int found = -1;
+        while (found < 0 && c.next())
+            for (int k = 0; k < keys.length; k++)
+                if (key(c.value) == keys[k]) found = k;
+        c.close();
+        return found;
+    }
+
+    // from the goal, step to any neighbor in the layer before, down to the start
+    private byte[] walkBack(int depth) throws IOException {
+        byte[] moves = new byte[depth];
+        unpack(goalKey);
+        for (int d = depth; d > 0; d--) {
+            int    zero = zeroOf();
+            long[] keys = new long[Board.DIRECTIONS];
+            int[]  dirs = new int[Board.DIRECTIONS];
+            int    n    = 0;
+            for (int dir: game.order()) {
+                int to = game.successor[dir][zero];
+                if (to < 0) continue;
+                state[zero] = state[to];
+                state[to]   = 0;
+                keys[n]     = key(state);
+                dirs[n++]   = dir;
+                state[to]   = state[zero];
+                state[zero] = 0;
+            }
+            int k = find(layers.get(d - 1), Arrays.copyOf(keys, n));
+            unpack(keys[k]);
+            // the blank went dirs[k] going back, so the other way going forward
+            moves[d - 1] = (byte)(Board.DIRECTIONS - 1 - dirs[k]);
+        }
+        return moves;
+    }
+
+    private void report(int depth) {
+        if (progress == null) return;
+        Layer l = layers.get(depth);
+        progress.layer(depth, l.count, l.file != null);
+    }
+
+    // state encoding: all but the last cell at 4 bits each (the last one is
+    // whichever tile is missing), shifted up over the operator bits.  the
+    // sign bit is flipped so that signed sorting puts them in unsigned order
+    private long key(byte[] s) {
+        long packed = 0;
+        for (int n = 0; n < cells - 1; n++)
+            packed = (packed << 4) | s[n];
+        return packed;
+    }
+
+    private static long entry(long key, int ops) { return ((key << 4) | ops) ^ Long.MIN_VALUE; }
+    private static long key(long entry)          { return (entry ^ Long.MIN_VALUE) >>> 4;  }
+    private static int  ops(long entry)          { return (int)(entry & 0xf);              }
+    private static boolean sameState(long a, long b) { return (a >>> 4) == (b >>> 4);      }
+
+    private void unpack(long key) {
+        int sum = 0;
+        for (int n = cells - 2; n >= 0; n--) {
+            state[n] = (byte)(key & 0xf);
+            sum     += state[n];
+            key    >>>= 4;
+        }
+        state[cells - 1] = (byte)(cells * (cells - 1) / 2 - sum);
+    }
+
+    private int zeroOf() {
+        for (int n = 0; ; n++) if (state[n] == 0) return n;
+    }
+
+    // sorted values as unsigned varint deltas, usually a byte or two each
+    private static class Writer {
+        DataOutputStream out;
+        long             last;
+        int              count;
+
+        Writer(File f) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(f), 1 << 16));
+        }
+
+        void write(long value) throws IOException {
+            long delta = value - last;
+            last = value;
+            count++;
+            while ((delta & ~0x7fL) != 0) {
+                out.writeByte((int)(delta & 0x7f) | 0x80);
+                delta >>>= 7;
+            }
+            out.writeByte((int)delta);
+        }
+
+        void close() throws IOException { out.close(); }
+    }
+
+    // walks a layer in order, from memory or from its file
+    private static class Cursor {
+        Layer           layer;
+        DataInputStream in;
+        int             index;
+        long            value;
+
+        Cursor(Layer layer) throws IOException {
+            this.layer = layer;
+            if (layer.values == null)
+                in = new DataInputStream(new BufferedInputStream(new FileInputStream(layer.file), 1 << 16));
+        }
+
+        boolean next() throws IOException {
+            if (in == null) {
+                if (index == layer.count) return false;
+                value = layer.values[index++];
+                return true;
+            }
+            long delta = 0;
+            int  shift = 0;
+            try {
+                while (true) {
+                    int b = in.readUnsignedByte();
+                    delta |= (long)(b & 0x7f) << shift;
+                    if ((b & 0x80) == 0) break;
+                    shift += 7;
+                }
+            } catch (EOFException e) {
+                return false;
+            }
+            value += delta;
+            return true;
+        }
+
+        void close() throws IOException { if (in != null) in.close(); }
+    }
+
+    public int  moves()       { return path.length;  }
+    public int  move(int i)   { return path[i];      }
+    public long numExpanded() { return numExpanded;  }
+    public long maxDepth()    { return maxDepth;     }
+    public long bytes()       { return peakBytes;    }
+
+    // number of states at each depth, the whole space with setExhaustive()
+    public long[] histogram() {
+        int    depth  = layers.size();
+        while (depth > 1 && layers.get(depth - 1).count == 0) depth--;
+        long[] counts = new long[depth];
+        for (int i = 0; i < depth; i++) counts[i] = layers.get(i).count;
+        return counts;
+    }
+
+    // private variables
+    private final long             budget;
+    private final boolean          exhaustive;
+    private final Progress         progress;
+    private final Game             game;
+    private final int              cells;
+    private final byte[]           state;
+    private final int              limit;
+    private long[]                 buffer;
+    private final long             goalKey;
+    private final ArrayList<Layer> layers = new ArrayList<Layer>();
+    private byte[]                 path;
+    private long                   numExpanded;
+    private long                   maxDepth;
+    private long                   peakBytes;
+}
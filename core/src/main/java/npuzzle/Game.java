@@ -0,0 +1,196 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-10-16
+// Game.java
+// the things that won't change during a game: dimension, heuristic,
+// move order and lookup tables.  these used to be static in Board, which
+// meant only one game could be solved at a time.  now every Board holds
+// a reference to its game, and several games can be solved at once.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.Arrays;
+public class Game {
+
+    // lookup tables depend only on the dimension, so they are built
+    // once per dimension and shared by every game of that size
+    private static final Game[] shapes = new Game[12];
+
+    public Game(int dim, Board.Heuristic heuristic, int[] order) {
+        this.dim       = dim;
+        this.cells     = dim * dim;
+        this.order     = Arrays.copyOf(order, order.length);
+        this.scratch   = new int[cells];
+        Game shape     = shape(dim);
+        this.rowOf          = shape.rowOf;
+        this.colOf          = shape.colOf;
+        this.manhattanTable = shape.manhattanTable;
+        this.isValidMove    = shape.isValidMove;
+        this.successor      = shape.successor;
+        this.manhattanDelta = shape.manhattanDelta;
+        // fall back to INT if there is no pattern database to be had
+        if (heuristic == Board.Heuristic.PDB) {
+            this.patternDB = PatternDB.forDimension(dim);
+            if (patternDB == null) heuristic = Board.Heuristic.INT;
+        } else this.patternDB = null;
+        // walking distance only goes up to 4x4, bigger ones get INT
+        if (heuristic == Board.Heuristic.WD) {
+            this.walkingDistance = WalkingDistance.forDimension(dim);
+            if (walkingDistance == null) heuristic = Board.Heuristic.INT;
+        } else this.walkingDistance = null;
+        this.heuristic = heuristic;
+    }
+
+    // build the tables for a dimension
+    private Game(int dim) {
+        this.dim       = dim;
+        this.cells     = dim * dim;
+        this.heuristic = Board.Heuristic.NA;
+        this.order     = null;
+        this.scratch   = null;
+        this.patternDB = null;
+        this.walkingDistance = null;
+        // lookup tables of rows and columns
+        rowOf = new byte[cells];
+        colOf = new byte[cells];
+        for (int i = 0; i < cells; i++) {
+            rowOf[i] = (byte)(i / dim);
+            colOf[i] = (byte)(i % dim);
+        }
+        // lookup table for manhattan distance to avoid costly divide and modulus ops
+        manhattanTable = new byte[cells][cells];
+        for (int i = 1; i < cells; i++)
+            for (int n = 0; n < cells; n++)
+                manhattanTable[i][n] = (byte)(Math.abs(i % dim - n % dim) +
+                                              Math.abs(i / dim - n / dim));
+        // lookup table of valid moves
+        isValidMove = new boolean[Board.DIRECTIONS][cells];
+        for (int n = 0; n < cells; n++) {
+            isValidMove[Board.UP   ][n] = (rowOf[n]     != 0  );
+            isValidMove[Board.RIGHT][n] = (colOf[n] + 1 != dim);
+            isValidMove[Board.LEFT ][n] = (colOf[n]     != 0  );
+            isValidMove[Board.DOWN ][n] = (rowOf[n] + 1 != dim);
+        }
+        // where the zero ends up after each move, -1 if it can't be made,
+        // so making a move is a lookup instead of a switch and a check
+        successor = new int[Board.DIRECTIONS][cells];
+        for (int n = 0; n < cells; n++) {
+            successor[Board.UP   ][n] = isValidMove[Board.UP   ][n] ? n - dim : -1;
+            successor[Board.RIGHT][n] = isValidMove[Board.RIGHT][n] ? n + 1   : -1;
+            successor[Board.LEFT ][n] = isValidMove[Board.LEFT ][n] ? n - 1   : -1;
+            successor[Board.DOWN ][n] = isValidMove[Board.DOWN ][n] ? n + dim : -1;
+        }
+        // change in a tile's manhattan distance when the zero makes a move
+        // and the tile slides into where the zero was, indexed by tile then
+        // zero * DIRECTIONS + direction, the same way as successor
+        manhattanDelta = new byte[cells][cells * Board.DIRECTIONS];
+        for (int i = 1; i < cells; i++)
+            for (int n = 0; n < cells; n++)
+                for (int dir = 0; dir < Board.DIRECTIONS; dir++)
+                    if (successor[dir][n] >= 0)
+                        manhattanDelta[i][n * Board.DIRECTIONS + dir] =
+                            (byte)(manhattanTable[i][n] - manhattanTable[i][successor[dir][n]]);
+    }
+
+    private static synchronized Game shape(int dim) {
+        if (dim >= shapes.length) return new Game(dim);
+        if (shapes[dim] == null) shapes[dim] = new Game(dim);
+        return shapes[dim];
+    }
+
+    public int             dimension() { return dim;       }
+    public Board.Heuristic heuristic() { return heuristic; }
+    public int[]           order()     { return order;     }
+
+    // the parts of the heuristic every search carries along: dist is the
+    // manhattan distance, hamming or pattern database value, inter the
+    // interference for INT and WD, and walk the packed walking distance
+    // for WD.  a part the heuristic doesn't use stays 0.  the start values
+    // are for a whole board, the deltas for the tile at nZ sliding into
+    // the zero at oZ, looking at the state before it does
+    int startDist(Board b) {
+        switch (heuristic) {
+            case HAM: return b.hamming();
+            // own scratch space: other searches may share this game
+            case PDB: return patternDB.distance(b.getState(), new int[cells]);
+            default:  return b.manhattan();
+        }
+    }
+
+    int startInter(Board b) {
+        switch (heuristic) {
+            case WD:
+            case INT: return b.conflicts();
+            default:  return 0;
+        }
+    }
+
+    int startWalk(Board b) {
+        return heuristic == Board.Heuristic.WD ? walkingDistance.pack(b.getState()) : 0;
+    }
+
+    // where holds the position of every tile, the in-place searches keep
+    // it up to date; a Board doesn't, so with null the pattern database
+    // finds the group's tiles again in this game's scratch space
+    int distDelta(byte[] state, int[] where, int oZ, int nZ, int dir) {
+        switch (heuristic) {
+            case HAM: return Board.hammingDelta(this, state, oZ, nZ);
+            case PDB: return where != null ? patternDB.delta(where, state[nZ], oZ)
+                                           : patternDB.delta(state, oZ, nZ, scratch);
+            default:  return Board.manhattanDelta(this, state, oZ, nZ, dir);
+        }
+    }
+
+    int interDelta(byte[] state, int oZ, int nZ, int dir) {
+        switch (heuristic) {
+            case WD:
+            case INT: return Board.conflictDelta(this, state, oZ, nZ, dir);
+            default:  return 0;
+        }
+    }
+
+    // only the rows or columns the tile moves between change
+    int walkAfter(int walk, byte[] state, int nZ, int dir) {
+        return heuristic == Board.Heuristic.WD ? walkingDistance.move(walk, dir, state[nZ]) : walk;
+    }
+
+    // the heuristic for the parts
+    int cost(int dist, int inter, int walk) {
+        switch (heuristic) {
+            case INT: return dist + 2*inter;
+            // both never overestimate, so neither does the larger
+            case WD:  return Math.max(dist + 2*inter, walkingDistance.estimate(walk));
+            default:  return dist;
+        }
+    }
+
+    public String orderName() {
+        StringBuffer temp = new StringBuffer();
+        for (int i: order)
+           switch(i) {
+               case Board.UP:    temp.append("U"); break;
+               case Board.DOWN:  temp.append("D"); break;
+               case Board.RIGHT: temp.append("R"); break;
+               case Board.LEFT:  temp.append("L"); break;
+           }
+        return temp.toString();
+    }
+
+    // package visible so the searches can use them directly
+    final int             dim;
+    final int             cells;
+    final Board.Heuristic heuristic;
+    final int[]           order;
+    final byte[]          rowOf;
+    final byte[]          colOf;
+    final byte[][]        manhattanTable;
+    final boolean[][]     isValidMove;
+    final int[][]         successor;
+    final byte[][]        manhattanDelta;
+    final PatternDB       patternDB;
+    final WalkingDistance walkingDistance;
+    // working space for the pattern database lookups
+    final int[]           scratch;
+    boolean               solvable;
+}
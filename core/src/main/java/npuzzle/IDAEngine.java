@@ -0,0 +1,214 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-10-02
+// IDAEngine.java
+// recursive IDA* that walks the tree by moving tiles in a single shared
+// array instead of building a new Board + Node for every child
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+public class IDAEngine {
+
+    // the only allocations are made here, once per game.
+    // after that the search runs on primitives and the call stack.
+    // pruning is the move pruning automaton, or null to only rule out
+    // going straight back
+    public IDAEngine(Board initial, int maxCost, MovePruning pruning) {
+        this.game    = initial.game();
+        this.initial = initial;
+        this.state   = new byte[initial.getState().length];
+        this.where   = new int[state.length];
+        this.path    = new byte[Math.min(maxCost, 128) + 1];
+        this.maxCost = maxCost;
+        this.width   = initial.packedWidth();
+        this.pruning = pruning;
+        this.shift   = new int[state.length];
+        for (int n = 0; n < state.length; n++) shift[n] = 4 * (state.length - 1 - n);
+        reset();
+    }
+
+    // go back to the initial board
+    void reset() {
+        System.arraycopy(initial.getState(), 0, state, 0, state.length);
+        for (int n = 0; n < state.length; n++) where[state[n]] = n;
+        zero  = initial.getZero();
+        if (width == 1) packed = initial.pack();
+        dist  = game.startDist(initial);
+        inter = game.startInter(initial);
+        walk  = game.startWalk(initial);
+    }
+
+    // remember states within each iteration, and skip the ones already
+    // reached in fewer moves.  only the serial search uses one.  entries
+    // carry the move pruning state, since a state first reached by a path
+    // that rules out some of the moves below it mustn't hide the paths
+    // from another way in that don't
+    void useTable(TranspositionTable table) {
+        this.table = width > 0 ? table : null;
+    }
+
+    // run deepening iterations until the goal is found, or the
+    // threshold passes maxCost (only possible for unsolvable games)
+    public boolean search() { return search(0); }
+
+    // the same, skipping the thresholds below start, which must be no
+    // more than the cost of the solution
+    public boolean search(int start) {
+        int threshold = Math.max(estimate(), start);
+        solved = false;
+        while (!solved && threshold <= maxCost) {
+            nextThreshold = Integer.MAX_VALUE;
+            numExpanded++;
+            if (table != null) {
+                table.nextIteration();
+                isRepeat(0, MovePruning.START);
+            }
+            solved = expand(0, dist, inter, walk, -1, MovePruning.START, threshold);
+            if (nextThreshold == Integer.MAX_VALUE) break;
+            if (!solved) threshold = nextThreshold;
+        }
+        return solved;
+    }
+
+    // the heuristic estimate for the current tiles
+    int estimate() { return game.cost(dist, inter, walk); }
+
+    // the parallel search walks each engine down to a frontier node with
+    // these, then searches below it with searchFrom()
+    boolean canMove(int dir) { return game.successor[dir][zero] >= 0; }
+
+    // the move pruning state after a move, MovePruning.PRUNED if the
+    // move shouldn't be made
+    int prune(int fsm, int dir) {
+        return pruning == null ? MovePruning.START : pruning.next(fsm, dir);
+    }
+
+    void push(int dir, int moves) {
+        int oZ = zero;
+        int nZ = game.successor[dir][oZ];
+        dist  = dist  + game.distDelta(state, where, oZ, nZ, dir);
+        inter = inter + game.interDelta(state, oZ, nZ, dir);
+        walk  = game.walkAfter(walk, state, nZ, dir);
+        state[oZ] = state[nZ];
+        state[nZ] = 0;
+        zero      = nZ;
+        where[state[oZ]] = oZ;
+        if (width == 1) packed += ((long)state[oZ] << shift[oZ]) - ((long)state[oZ] << shift[nZ]);
+        if (moves == path.length) path = Arrays.copyOf(path, 2*moves);
+        path[moves] = (byte)dir;
+    }
+
+    boolean isGoal() { return dist == 0; }
+
+    // search below the node reached by the moves pushed so far.
+    // the search gives up as soon as stop holds a lower index than this
+    // one, since a solution to the left of it has been found
+    boolean searchFrom(int moves, int last, int fsm, int threshold, AtomicInteger stop, int index) {
+        this.stop     = stop;
+        this.index    = index;
+        nextThreshold = Integer.MAX_VALUE;
+        solved        = expand(moves, dist, inter, walk, last, fsm, threshold);
+        return solved;
+    }
+
+    // depth first below the current node, make-move / unmake-move
+    // on the shared array.  dist, inter and walk ride along on the
+    // call stack so undoing a move is just the reverse swap.
+    private boolean expand(int moves, int dist, int inter, int walk, int last, int fsm, int threshold) {
+        if (moves > maxDepth) maxDepth = moves;
+        if (dist == 0) {
+            length = moves;
+            return true;
+        }
+        if (stop != null && stop.get() < index) return false;
+        for (int dir: game.order) {
+            // no going straight back to the grand parent
+            if (dir == Board.DIRECTIONS - 1 - last) continue;
+            int nZ = game.successor[dir][zero];
+            if (nZ < 0)                            continue;
+            int next = pruning == null ? MovePruning.START : pruning.next(fsm, dir);
+            if (next == MovePruning.PRUNED)        continue;
+            int oZ = zero;
+            int newDist  = dist  + game.distDelta(state, where, oZ, nZ, dir);
+            int newInter = inter + game.interDelta(state, oZ, nZ, dir);
+            int newWalk  = game.walkAfter(walk, state, nZ, dir);
+            int f = moves + 1 + game.cost(newDist, newInter, newWalk);
+            if (f > threshold) {
+                if (f < nextThreshold) nextThreshold = f;
+                continue;
+            }
+            // make move
+            long delta  = ((long)state[nZ] << shift[oZ]) - ((long)state[nZ] << shift[nZ]);
+            state[oZ]   = state[nZ];
+            state[nZ]   = 0;
+            zero        = nZ;
+            where[state[oZ]] = oZ;
+            packed     += delta;
+            boolean found = false;
+            if (table == null || !isRepeat(moves + 1, next)) {
+                if (moves == path.length) path = Arrays.copyOf(path, 2*moves);
+                path[moves] = (byte)dir;
+                numExpanded++;
+                found = expand(moves + 1, newDist, newInter, newWalk, dir, next, threshold);
+            }
+            // unmake move
+            state[nZ]   = state[oZ];
+            state[oZ]   = 0;
+            zero        = oZ;
+            where[state[nZ]] = nZ;
+            packed     -= delta;
+            if (found) return true;
+        }
+        return false;
+    }
+
+    // true if the table says this state was already searched in this
+    // iteration from no more than this many moves in, in the same move
+    // pruning state
+    private boolean isRepeat(int moves, int fsm) {
+        if (width == 1) return !table.visit(packed, 0, moves, fsm);
+        return !table.visit(Board.pack5(state, 0), Board.pack5(state, 12), moves, fsm);
+    }
+
+    public boolean isSolved()      { return solved;        }
+    public int     moves()         { return length;        }
+    public int     move(int i)     { return path[i];       }
+    public long    numExpanded()   { return numExpanded;   }
+    public int     maxDepth()      { return maxDepth;      }
+    int            nextThreshold() { return nextThreshold; }
+
+    // the arrays the search works in, for the memory estimate.
+    // the call stack, the shared pattern database and the shared
+    // move pruning automaton aren't counted
+    public long bytes() {
+        return state.length + 4L * where.length + path.length
+             + 4L * shift.length + (table == null ? 0 : table.bytes());
+    }
+
+    // private variables
+    private final Game   game;
+    private final Board  initial;
+    private final byte[] state;
+    private final int[]  where;
+    private byte[]       path;
+    private final int    maxCost;
+    private final int    width;
+    private final int[]  shift;   // of each cell in the packed key
+    private TranspositionTable table;
+    private MovePruning  pruning;
+    private long         packed;
+    private int          zero;
+    private int          dist;
+    private int          inter;
+    private int          walk;
+    private int          nextThreshold;
+    private int          length;
+    private int          maxDepth;
+    private long         numExpanded;
+    private boolean      solved;
+    private AtomicInteger stop;
+    private int          index;
+}
@@ -0,0 +1,89 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-09
+// IntBucketQueue.java
+// priority queue for A* where priorities are small integers, for plain ints
+// such as indexes into a NodeArena, so nothing on the open list is an object.
+// items go in a bucket for their f = g + h, and within that in a stack for
+// their g.  remove() takes from the lowest f, and for ties the deepest g,
+// last in first out.  both operations are O(1), except for moving the
+// minimum pointer up past empty buckets, which is bounded by the
+// solution cost over the whole search.  BucketQueue puts objects on it.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.Arrays;
+public class IntBucketQueue {
+
+    private static class Stack {
+        int[] items = new int[16];
+        int   size;
+    }
+
+    public IntBucketQueue() {
+        buckets = new Stack[64][];
+        maxG    = new int[64];
+        count   = new int[64];
+        minF    = Integer.MAX_VALUE;
+    }
+
+    public void add(int item, int f, int g) {
+        if (f >= buckets.length) {
+            int grow = Math.max(f + 1, 2 * buckets.length);
+            buckets  = Arrays.copyOf(buckets, grow);
+            maxG     = Arrays.copyOf(maxG,    grow);
+            count    = Arrays.copyOf(count,   grow);
+        }
+        Stack[] byG = buckets[f];
+        if (byG == null || g >= byG.length)
+            byG = buckets[f] = Arrays.copyOf(byG == null ? new Stack[0] : byG,
+                                             Math.max(g + 1, byG == null ? 64 : 2 * byG.length));
+        Stack s = byG[g];
+        if (s == null) {
+            s = byG[g] = new Stack();
+            bytes += 4 * s.items.length;
+        }
+        if (s.size == s.items.length) {
+            s.items = Arrays.copyOf(s.items, 2 * s.size);
+            bytes  += 4 * s.size;
+        }
+        s.items[s.size++] = item;
+        if (g > maxG[f]) maxG[f] = g;
+        count[f]++;
+        if (f < minF) minF = f;
+        size++;
+    }
+
+    // -1 when empty
+    public int remove() {
+        if (size == 0) return -1;
+        while (count[minF] == 0) minF++;
+        Stack[] byG = buckets[minF];
+        while (byG[maxG[minF]] == null || byG[maxG[minF]].size == 0) maxG[minF]--;
+        Stack s = byG[maxG[minF]];
+        count[minF]--;
+        size--;
+        return s.items[--s.size];
+    }
+
+    // the f of the next item remove() would return
+    public int minF() {
+        if (size == 0) return Integer.MAX_VALUE;
+        while (count[minF] == 0) minF++;
+        return minF;
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int     size()    { return size;      }
+    // the stacks never shrink, so this only goes up
+    public long    bytes()   { return bytes;     }
+
+    // private variables
+    private Stack[][] buckets;
+    private int[]     maxG;
+    private int[]     count;
+    private int       minF;
+    private int       size;
+    private long      bytes;
+}
@@ -0,0 +1,59 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-04
+// LineReader.java
+// reads lines of puzzles straight out of a byte buffer.  Scanner runs a
+// regular expression for every line and goes through a charset decoder,
+// which on a file of millions of 3x3 boards took longer than solving them.
+// the input is only ever digits, spaces and '#' comments, so bytes are
+// taken as characters as they are.  a line is handed back as soon as its
+// newline has been read, so typing at the prompt still works.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+public class LineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public LineReader(InputStream in) {
+        this.in     = in;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.line   = new char[128];
+    }
+
+    // the next line without its line ending, null at the end of the input
+    public String readLine() throws IOException {
+        int length = 0;
+        while (true) {
+            if (position == limit) {
+                limit    = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return length > 0 ? new String(line, 0, length) : null;
+                }
+            }
+            byte b = buffer[position++];
+            if (b == '\n') {
+                if (length > 0 && line[length - 1] == '\r') length--;
+                return new String(line, 0, length);
+            }
+            if (length == line.length) line = Arrays.copyOf(line, 2 * length);
+            line[length++] = (char)(b & 0xff);
+        }
+    }
+
+    public void close() throws IOException { in.close(); }
+
+    // private variables
+    private final InputStream in;
+    private final byte[]      buffer;
+    private char[]            line;
+    private int               position;
+    private int               limit;
+}
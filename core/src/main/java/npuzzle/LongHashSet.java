@@ -0,0 +1,137 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-10-04
+// LongHashSet.java
+// open addressing hash set of packed board states, used as the closed list.
+// keys are one long (up to 4x4) or a pair of longs (5x5) stored inline in
+// a single primitive array, so an entry costs 8 or 16 bytes plus slack
+// instead of a ByteBuffer + byte[] + HashMap.Node.
+// optionally each key carries an int, such as its depth, which makes it
+// a map for the searches that need to walk a path back afterwards.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.Arrays;
+public class LongHashSet {
+
+    // a packed key of all zeros would be a board of all blanks,
+    // which can't happen, so zero marks an empty slot
+    private static final long  EMPTY       = 0L;
+    private static final float LOAD_FACTOR = 0.7f;
+
+    public LongHashSet(int width, int capacity, boolean withValues) {
+        if (width != 1 && width != 2) throw new IllegalArgumentException();
+        this.width      = width;
+        this.withValues = withValues;
+        int slots  = 16;
+        while (slots * LOAD_FACTOR < capacity) slots <<= 1;
+        allocate(slots);
+    }
+    public LongHashSet(int width, int capacity) { this(width, capacity, false); }
+    public LongHashSet(int width) { this(width, 1 << 16); }
+
+    private void allocate(int slots) {
+        this.keys  = new long[slots * width];
+        if (withValues) this.values = new int[slots];
+        this.mask  = slots - 1;
+        this.limit = (int)(slots * LOAD_FACTOR);
+        this.size  = 0;
+    }
+
+    // murmur3 finalizer - packed boards differ mostly in a few nibbles,
+    // so they need a good mix before masking off the low bits
+    static int hash(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return (int)k;
+    }
+
+    // the slot holding the key, or the empty slot where it would go
+    private int find(long hi, long lo) {
+        int slot = (hash(hi) ^ 31 * hash(lo)) & mask;
+        while (true) {
+            int i = slot * width;
+            if (keys[i] == EMPTY && (width == 1 || keys[i + 1] == EMPTY)) return slot;
+            if (keys[i] == hi    && (width == 1 || keys[i + 1] == lo   )) return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean isFree(int slot) {
+        int i = slot * width;
+        return keys[i] == EMPTY && (width == 1 || keys[i + 1] == EMPTY);
+    }
+
+    private void insert(int slot, long hi, long lo, int value) {
+        int i = slot * width;
+        keys[i] = hi;
+        if (width == 2) keys[i + 1] = lo;
+        if (withValues) values[slot] = value;
+        if (++size > limit) grow();
+    }
+
+    public boolean contains(long key) { return contains(key, EMPTY); }
+    public boolean add(long key)      { return add(key, EMPTY);      }
+
+    public boolean contains(long hi, long lo) {
+        return !isFree(find(hi, lo));
+    }
+
+    // returns false if the key was already present
+    public boolean add(long hi, long lo) {
+        int slot = find(hi, lo);
+        if (!isFree(slot)) return false;
+        insert(slot, hi, lo, 0);
+        return true;
+    }
+
+    // the value stored with a key, -1 if it isn't there
+    public int  get(long key)            { return get(key, EMPTY);      }
+    public void put(long key, int value) { put(key, EMPTY, value);      }
+
+    public int get(long hi, long lo) {
+        int slot = find(hi, lo);
+        return isFree(slot) ? -1 : values[slot];
+    }
+
+    public void put(long hi, long lo, int value) {
+        int slot = find(hi, lo);
+        if (isFree(slot)) insert(slot, hi, lo, value);
+        else              values[slot] = value;
+    }
+
+    private void grow() {
+        long[] old       = keys;
+        int[]  oldValues = values;
+        allocate(2 * (mask + 1));
+        for (int i = 0; i < old.length; i += width)
+            if (old[i] != EMPTY || (width == 2 && old[i + 1] != EMPTY)) {
+                long lo = width == 2 ? old[i + 1] : EMPTY;
+                insert(find(old[i], lo), old[i], lo, withValues ? oldValues[i / width] : 0);
+            }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    public int  size()     { return size;  }
+    // how many keys fit before the table doubles
+    public int  capacity() { return limit; }
+    // bytes held by the table itself, which is all of it
+    public long bytes() { return 8L * keys.length + (withValues ? 4L * values.length : 0); }
+
+    // private variables
+    private final int     width;
+    private final boolean withValues;
+    private long[]        keys;
+    private int[]         values;
+    private int           mask;
+    private int           limit;
+    private int           size;
+}
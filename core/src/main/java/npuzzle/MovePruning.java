@@ -0,0 +1,207 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-01
+// MovePruning.java
+// a finite state machine over the moves of the blank that rejects move
+// sequences known to be redundant (Taylor & Korf 1993).  every sequence up
+// to a fixed length is tried from every position of the blank; one that
+// reaches a board some earlier sequence (shorter, or as long and first in
+// UP RIGHT LEFT DOWN order) already reached, from every position where it
+// can be made at all, is never needed, and neither is anything containing
+// it.  those sequences are wired into an aho-corasick automaton, so the
+// tree searches only carry one int per node to know which moves to skip.
+// the inverse moves are the length 2 case, so this includes the usual
+// no going back to the grand parent check.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+public class MovePruning {
+
+    // the state of a path that has just started
+    public static final int START = 0;
+    // what next() returns for a move that shouldn't be made
+    public static final int PRUNED = -1;
+
+    // longest sequences checked.  the first duplicates turn up at 8
+    // (twice around a 2x2 square one way is once round the other)
+    private static final int[] LENGTHS = { 0, 0, 12, 12, 12, 10 };
+
+    private static final MovePruning[] cached = new MovePruning[LENGTHS.length];
+
+    // the automaton for a dimension, built the first time it's asked for.
+    // null for boards too big to pack
+    public static synchronized MovePruning forDimension(int dim) {
+        if (dim < 2 || dim >= LENGTHS.length) return null;
+        if (cached[dim] == null) cached[dim] = new MovePruning(dim, LENGTHS[dim]);
+        return cached[dim];
+    }
+
+    public MovePruning(int dim, int maxLength) {
+        this.cells  = dim * dim;
+        this.width  = dim <= 4 ? 1 : 2;
+        this.offset = new int[Board.DIRECTIONS];
+        offset[Board.UP]    = -dim;
+        offset[Board.RIGHT] =  1;
+        offset[Board.LEFT]  = -1;
+        offset[Board.DOWN]  =  dim;
+        this.isValidMove = new boolean[Board.DIRECTIONS][cells];
+        for (int n = 0; n < cells; n++) {
+            isValidMove[Board.UP   ][n] = n / dim != 0;
+            isValidMove[Board.RIGHT][n] = n % dim + 1 != dim;
+            isValidMove[Board.LEFT ][n] = n % dim != 0;
+            isValidMove[Board.DOWN ][n] = n / dim + 1 != dim;
+        }
+        build(find(maxLength));
+    }
+
+    // the state after making a move from a state, or PRUNED
+    public int next(int state, int dir) { return table[Board.DIRECTIONS * state + dir]; }
+
+    public int  states()     { return table.length / Board.DIRECTIONS; }
+    public int  sequences()  { return forbidden;                       }
+    public long bytes()      { return 4L * table.length;               }
+
+    // breadth first over the sequences, in order, keeping every board
+    // reached from each starting position.  sequences are coded 2 bits
+    // a move, first move highest, so within a length the codes are in
+    // the same order the sequences are generated in
+    private ArrayList<long[]> find(int maxLength) {
+        ArrayList<long[]> found = new ArrayList<long[]>();
+        HashSet<Long>     known = new HashSet<Long>();
+        LongHashSet[]     seen  = new LongHashSet[cells];
+        byte[][]          start = new byte[cells][];
+        for (int p = 0; p < cells; p++) {
+            seen[p]  = new LongHashSet(width);
+            start[p] = new byte[cells];
+            for (int n = 0; n < cells; n++) start[p][n] = (byte)n;
+            start[p][0] = (byte)p;
+            start[p][p] = 0;
+            seen[p].add(high(start[p]), low(start[p]));
+        }
+        byte[] state = new byte[cells];
+        long[] level = { 0 };
+        int    count = 1;
+        for (int length = 1; length <= maxLength; length++) {
+            long[] next  = new long[4 * count];
+            int    added = 0;
+            for (int i = 0; i < count; i++)
+                for (int dir = 0; dir < Board.DIRECTIONS; dir++) {
+                    long code = level[i] << 2 | dir;
+                    if (containsKnown(code, length, known)) continue;
+                    boolean valid = false;
+                    boolean fresh = false;
+                    for (int p = 0; p < cells; p++) {
+                        if (!play(code, length, start[p], state)) continue;
+                        valid = true;
+                        if (seen[p].add(high(state), low(state))) fresh = true;
+                    }
+                    if (!valid) continue;
+                    if (fresh) {
+                        next[added++] = code;
+                    } else {
+                        known.add(key(code, length));
+                        found.add(new long[] { code, length });
+                    }
+                }
+            level = next;
+            count = added;
+        }
+        return found;
+    }
+
+    // whether any suffix of the sequence is already known to be redundant.
+    // the rest of it got this far, so that's the only place one can be
+    private static boolean containsKnown(long code, int length, HashSet<Long> known) {
+        for (int n = 2; n < length; n++)
+            if (known.contains(key(code & ((1L << 2 * n) - 1), n))) return true;
+        return false;
+    }
+
+    private static Long key(long code, int length) { return code << 5 | length; }
+
+    // make the moves from a starting position, false if one can't be made
+    private boolean play(long code, int length, byte[] from, byte[] state) {
+        System.arraycopy(from, 0, state, 0, cells);
+        int zero = 0;
+        while (state[zero] != 0) zero++;
+        for (int i = length - 1; i >= 0; i--) {
+            int dir = (int)(code >>> 2 * i) & 3;
+            if (!isValidMove[dir][zero]) return false;
+            int to = zero + offset[dir];
+            state[zero] = state[to];
+            state[to]   = 0;
+            zero        = to;
+        }
+        return true;
+    }
+
+    // 4 bits a cell for up to 4x4, otherwise two halves of 5 bits a cell
+    private long high(byte[] s) { return width == 1 ? Board.pack(s) : Board.pack5(s, 0);  }
+    private long low(byte[] s)  { return width == 1 ? 0             : Board.pack5(s, 12); }
+
+    // the trie of the redundant sequences, with failure links so that a
+    // move from any state goes where the longest matching suffix leads
+    private void build(ArrayList<long[]> found) {
+        int   nodes    = 1;
+        for (long[] f: found) nodes += (int)f[1];
+        int[] child    = new int[Board.DIRECTIONS * nodes];
+        boolean[] dead = new boolean[nodes];
+        Arrays.fill(child, -1);
+        nodes = 1;
+        for (long[] f: found) {
+            int node = 0;
+            for (int i = (int)f[1] - 1; i >= 0; i--) {
+                int dir = (int)(f[0] >>> 2 * i) & 3;
+                if (child[Board.DIRECTIONS * node + dir] < 0)
+                    child[Board.DIRECTIONS * node + dir] = nodes++;
+                node = child[Board.DIRECTIONS * node + dir];
+            }
+            dead[node] = true;
+        }
+        forbidden = found.size();
+        // fill in the missing moves breadth first from the failure links
+        int[] fail = new int[nodes];
+        int[] go   = new int[Board.DIRECTIONS * nodes];
+        ArrayDeque<Integer> queue = new ArrayDeque<Integer>();
+        for (int dir = 0; dir < Board.DIRECTIONS; dir++) {
+            int c = child[dir];
+            if (c < 0) go[dir] = 0;
+            else { go[dir] = c; fail[c] = 0; queue.add(c); }
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            if (dead[fail[node]]) dead[node] = true;
+            for (int dir = 0; dir < Board.DIRECTIONS; dir++) {
+                int c = child[Board.DIRECTIONS * node + dir];
+                if (c < 0) go[Board.DIRECTIONS * node + dir] = go[Board.DIRECTIONS * fail[node] + dir];
+                else {
+                    go[Board.DIRECTIONS * node + dir] = c;
+                    fail[c] = go[Board.DIRECTIONS * fail[node] + dir];
+                    queue.add(c);
+                }
+            }
+        }
+        // number the live nodes, and point the moves into dead ones at PRUNED
+        int[] id   = new int[nodes];
+        int   live = 0;
+        for (int n = 0; n < nodes; n++) id[n] = dead[n] ? PRUNED : live++;
+        table = new int[Board.DIRECTIONS * live];
+        for (int n = 0; n < nodes; n++)
+            if (!dead[n])
+                for (int dir = 0; dir < Board.DIRECTIONS; dir++)
+                    table[Board.DIRECTIONS * id[n] + dir] = id[go[Board.DIRECTIONS * n + dir]];
+    }
+
+    // private variables
+    private final int         cells;
+    private final int         width;
+    private final int[]       offset;
+    private final boolean[][] isValidMove;
+    private int[]             table;
+    private int               forbidden;
+}
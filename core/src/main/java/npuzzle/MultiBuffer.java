@@ -6,6 +6,8 @@
 // MultiBuffer.java 
 // print multi-line strings side-by-side
 ////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
 import java.util.Collections;
 import java.util.ArrayList;
 import java.util.Iterator;
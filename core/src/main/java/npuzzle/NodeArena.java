@@ -0,0 +1,103 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-09
+// NodeArena.java
+// search nodes as fixed size records in pages of primitive arrays instead
+// of objects.  a record is the packed board (one long, two for 5x5), the
+// index of the record it was reached from, and one int holding the moves
+// so far, the last move and the parts of the heuristic the deltas build
+// on; with WD also the packed walking distance.  that is 16 bytes a node
+// for 4x4 where a Solver.Node with its Board and state is over 100, and the
+// gc only ever sees a few hundred large arrays however many nodes there are.
+// records are never moved or freed, so an index stays good for the whole
+// search and the path is walked back through the parent indexes.
+//
+// info layout: g in bits 0-11, move in 12-13, dist in 14-23, inter in 24-31
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.Arrays;
+public class NodeArena {
+
+    // parent of the first record
+    public static final int NONE = -1;
+
+    private static final int PAGE_BITS = 16;
+    private static final int PAGE      = 1 << PAGE_BITS;
+    private static final int MASK      = PAGE - 1;
+
+    // the largest g, dist and inter a record can hold
+    public static final int MAX_G     = (1 << 12) - 1;
+    public static final int MAX_DIST  = (1 << 10) - 1;
+    public static final int MAX_INTER = (1 <<  8) - 1;
+
+    public NodeArena(int width, boolean withWalk) {
+        if (width != 1 && width != 2) throw new IllegalArgumentException();
+        this.width    = width;
+        this.withWalk = withWalk;
+        this.keys     = new long[16][];
+        this.parents  = new int [16][];
+        this.infos    = new int [16][];
+        this.walks    = withWalk ? new int[16][] : null;
+    }
+
+    // the index of the new record
+    public int add(long hi, long lo, int parent, int g, int move, int dist, int inter, int walk) {
+        if (g > MAX_G || dist > MAX_DIST || inter > MAX_INTER)
+            throw new IllegalArgumentException("node out of range for the arena");
+        int page = size >>> PAGE_BITS;
+        int slot = size & MASK;
+        if (slot == 0) grow(page);
+        keys[page][slot * width] = hi;
+        if (width == 2) keys[page][slot * 2 + 1] = lo;
+        parents[page][slot] = parent;
+        infos[page][slot]   = g | move << 12 | dist << 14 | inter << 24;
+        if (withWalk) walks[page][slot] = walk;
+        return size++;
+    }
+
+    private void grow(int page) {
+        if (page == keys.length) {
+            keys    = Arrays.copyOf(keys,    2 * page);
+            parents = Arrays.copyOf(parents, 2 * page);
+            infos   = Arrays.copyOf(infos,   2 * page);
+            if (withWalk) walks = Arrays.copyOf(walks, 2 * page);
+        }
+        keys[page]    = new long[PAGE * width];
+        parents[page] = new int[PAGE];
+        infos[page]   = new int[PAGE];
+        if (withWalk) walks[page] = new int[PAGE];
+    }
+
+    public long hi(int i)     { return keys[i >>> PAGE_BITS][(i & MASK) * width];      }
+    public long lo(int i)     { return width == 1 ? 0L : keys[i >>> PAGE_BITS][(i & MASK) * 2 + 1]; }
+    public int  parent(int i) { return parents[i >>> PAGE_BITS][i & MASK];             }
+    public int  g(int i)      { return  infos[i >>> PAGE_BITS][i & MASK]         & MAX_G;     }
+    public int  move(int i)   { return (infos[i >>> PAGE_BITS][i & MASK] >>> 12) & 3;         }
+    public int  dist(int i)   { return (infos[i >>> PAGE_BITS][i & MASK] >>> 14) & MAX_DIST;  }
+    public int  inter(int i)  { return  infos[i >>> PAGE_BITS][i & MASK] >>> 24;              }
+    public int  walk(int i)   { return withWalk ? walks[i >>> PAGE_BITS][i & MASK] : 0;       }
+
+    public int  size()        { return size; }
+
+    // bytes in the pages handed out so far
+    public long bytes() {
+        long pages = (size + MASK) >>> PAGE_BITS;
+        return pages * PAGE * recordBytes(width, withWalk);
+    }
+
+    // key, parent and info, and the walk
+    public static long recordBytes(int width, boolean withWalk) {
+        return 8L * width + 4 + 4 + (withWalk ? 4 : 0);
+    }
+
+    // private variables
+    private final int     width;
+    private final boolean withWalk;
+    private long[][]      keys;
+    private int[][]       parents;
+    private int[][]       infos;
+    private int[][]       walks;
+    private int           size;
+}
@@ -0,0 +1,347 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-10
+// ParallelAStar.java
+// A* for a single puzzle spread over several cores (HDA*, Kishimoto et al.
+// 2009).  every board has an owner, picked by the hash of its packed tiles,
+// and each worker thread has its own NodeArena, closed list and open list
+// for the boards it owns, so no lock is shared between them.  a child that
+// belongs to another worker goes in a batch for that worker, and full
+// batches (or all of them, every so often and whenever a worker runs out
+// of work) are handed over on the owner's lock-free inbox.
+// each worker also posts the lowest f on its open list, and only expands
+// nodes at the lowest f any of them has, so the workers go through the f
+// values together the way serial A* does, instead of one running ahead
+// into nodes serial A* would never get to (which happens a lot whenever
+// there are more workers than cores).
+//
+// the goal is only ever reached by its owner, which keeps the cost of the
+// best one found so far.  nodes that can't beat it are dropped, and the
+// search is over once no worker has a node left below it and nothing is on
+// the way between them.  'pending' counts the workers still busy plus the
+// batches not yet taken in: a batch is counted before it is sent and let go
+// of after it is taken in, and a worker that goes idle only counts again
+// once it has a batch in hand, so it can't reach 0 while there is work.
+// with an admissible heuristic the cost is the one serial A* finds, the
+// moves may be a different path of the same length.  the path is walked
+// back through the moves each board was reached in, see walkBack().
+// only boards that pack (up to 5x5).
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+public class ParallelAStar {
+
+    // children in a batch before it goes to its owner
+    private static final int BATCH       = 256;
+    // expansions between sending the batches that aren't full yet
+    private static final int FLUSH_EVERY = 64;
+
+    // the boards one thread owns
+    private class Worker implements Runnable {
+        final int                           id;
+        final NodeArena                     arena = new NodeArena(width, withWalk);
+        final LongHashSet                   seen  = new LongHashSet(width, 1 << 16, true);
+        final IntBucketQueue                open  = new IntBucketQueue();
+        final ConcurrentLinkedQueue<long[]> inbox = new ConcurrentLinkedQueue<long[]>();
+        final long[][]                      outbox;
+        final byte[]                        state = new byte[cells];
+        final int[]                         where = new int[cells];
+        final long[]                        key   = new long[2];
+        long                                expanded;
+        long                                maxOpen;
+        boolean                             busy  = true;
+        int                                 posted;
+
+        Worker(int id) {
+            this.id     = id;
+            this.posted = Integer.MAX_VALUE;
+            this.outbox = new long[workers][];
+            for (int to = 0; to < workers; to++) outbox[to] = batch();
+        }
+
+        public void run() {
+            try {
+                int since = 0;
+                while (!failed) {
+                    long[] batch;
+                    while ((batch = inbox.poll()) != null) {
+                        if (!busy) {
+                            pending.incrementAndGet();
+                            busy = true;
+                        }
+                        receive(batch);
+                        pending.decrementAndGet();
+                    }
+                    int f = open.minF();
+                    if (f != posted) lowest.set(id, posted = f);
+                    if (f < best) {
+                        // still work here, but wait for the others to
+                        // catch up to this f
+                        if (f > floor()) {
+                            flush();
+                            Thread.yield();
+                            continue;
+                        }
+                        expand(open.remove());
+                        if (++since == FLUSH_EVERY) {
+                            flush();
+                            since = 0;
+                        }
+                        continue;
+                    }
+                    // nothing here can beat the best: send everything on
+                    // and see whether the others are done too
+                    flush();
+                    if (!inbox.isEmpty()) continue;
+                    if (busy) {
+                        busy = false;
+                        pending.decrementAndGet();
+                    }
+                    if (pending.get() == 0) return;
+                    Thread.yield();
+                }
+            } catch (Throwable t) {
+                failure = t;
+                failed  = true;
+            }
+        }
+
+        private void expand(int node) {
+            long hi = arena.hi(node);
+            long lo = arena.lo(node);
+            // a cheaper record for the same board was made after this one
+            if (seen.get(hi, lo) != node) return;
+            expanded++;
+            if (open.size() > maxOpen) maxOpen = open.size();
+            int g     = arena.g(node);
+            int dist  = arena.dist(node);
+            int inter = arena.inter(node);
+            int walk  = arena.walk(node);
+            if (dist == 0) {
+                // only this worker ever gets here, so no race on best
+                if (g < best) best = g;
+                return;
+            }
+            if (width == 1) Board.unpack(hi, state);
+            else            Board.unpack(hi, lo, state);
+            for (int n = 0; n < cells; n++) where[state[n]] = n;
+            int oZ   = where[0];
+            // the initial board is the only one with g 0
+            int back = g == 0 ? -1 : Board.DIRECTIONS - 1 - arena.move(node);
+            for (int dir: game.order()) {
+                int nZ = game.successor[dir][oZ];
+                if (nZ < 0 || dir == back) continue;
+                int cDist  = dist  + game.distDelta(state, where, oZ, nZ, dir);
+                int cInter = inter + game.interDelta(state, oZ, nZ, dir);
+                int cWalk  = game.walkAfter(walk, state, nZ, dir);
+                if (g + 1 + game.cost(cDist, cInter, cWalk) >= best) continue;
+                state[oZ] = state[nZ];
+                state[nZ] = 0;
+                pack(state, key);
+                state[nZ] = state[oZ];
+                state[oZ] = 0;
+                int to = owner(key[0], key[1]);
+                if (to == id) insert(key[0], key[1], g + 1, dir, cDist, cInter, cWalk);
+                else          send(to, key[0], key[1], g + 1, dir, cDist, cInter, cWalk);
+            }
+        }
+
+        void insert(long hi, long lo, int g, int move, int dist, int inter, int walk) {
+            int f = g + game.cost(dist, inter, walk);
+            if (f >= best) return;
+            int before = seen.get(hi, lo);
+            if (before >= 0 && arena.g(before) <= g) return;
+            int node = arena.add(hi, lo, NodeArena.NONE, g, move, dist, inter, walk);
+            seen.put(hi, lo, node);
+            open.add(node, f, g);
+        }
+
+        // a record is the key, then g, move, dist and inter in one long,
+        // then the walk with WD.  [0] is how many longs are used
+        private void send(int to, long hi, long lo, int g, int move, int dist, int inter, int walk) {
+            long[] b = outbox[to];
+            int    n = (int)b[0];
+            b[++n] = hi;
+            if (width == 2) b[++n] = lo;
+            b[++n] = g | (long)move << 16 | (long)dist << 18 | (long)inter << 34;
+            if (withWalk) b[++n] = walk;
+            b[0] = n;
+            if (n + stride >= b.length) post(to);
+        }
+
+        private void receive(long[] b) {
+            int used = (int)b[0];
+            for (int n = 1; n <= used; ) {
+                long hi   = b[n++];
+                long lo   = width == 2 ? b[n++] : 0L;
+                long info = b[n++];
+                int  walk = withWalk ? (int)b[n++] : 0;
+                insert(hi, lo, (int)(info & 0xffff), (int)(info >>> 16) & 3,
+                       (int)(info >>> 18) & 0xffff, (int)(info >>> 34) & 0xffff, walk);
+            }
+        }
+
+        private void post(int to) {
+            if (outbox[to][0] == 0) return;
+            pending.incrementAndGet();
+            all[to].inbox.add(outbox[to]);
+            outbox[to] = batch();
+        }
+
+        private void flush() {
+            for (int to = 0; to < workers; to++)
+                if (to != id) post(to);
+        }
+
+        private long[] batch() { return new long[1 + BATCH * stride]; }
+
+        long bytes() { return arena.bytes() + seen.bytes() + open.bytes() + 8L * workers * (1 + BATCH * stride); }
+    }
+
+    public ParallelAStar(Board initial, int workers) {
+        if (initial.packedWidth() == 0 || workers < 1) throw new IllegalArgumentException();
+        this.workers  = workers;
+        this.game     = initial.game();
+        this.width    = initial.packedWidth();
+        this.cells    = game.cells;
+        this.withWalk = game.heuristic == Board.Heuristic.WD;
+        this.stride   = width + 1 + (withWalk ? 1 : 0);
+        this.all      = new Worker[workers];
+        for (int id = 0; id < workers; id++) all[id] = new Worker(id);
+        this.pending  = new AtomicInteger(workers);
+        this.lowest   = new AtomicIntegerArray(workers);
+        for (int id = 0; id < workers; id++) lowest.set(id, Integer.MAX_VALUE);
+        this.best     = Integer.MAX_VALUE;
+        int dist  = game.startDist(initial);
+        int inter = game.startInter(initial);
+        int walk  = game.startWalk(initial);
+        long[] key = new long[2];
+        pack(initial.getState(), key);
+        all[owner(key[0], key[1])].insert(key[0], key[1], 0, 0, dist, inter, walk);
+    }
+
+    public boolean search() {
+        Thread[] threads = new Thread[workers];
+        for (int id = 0; id < workers; id++) {
+            threads[id] = new Thread(all[id], "hda-" + id);
+            threads[id].start();
+        }
+        try {
+            for (Thread t: threads) t.join();
+        } catch (InterruptedException e) {
+            failed = true;
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (failure instanceof OutOfMemoryError) throw (OutOfMemoryError)failure;
+        if (failure != null) throw new RuntimeException(failure);
+        if (best == Integer.MAX_VALUE) return false;
+        walkBack();
+        return true;
+    }
+
+    // the lowest f on any open list, as last posted
+    private int floor() {
+        int min = Integer.MAX_VALUE;
+        for (int id = 0; id < workers; id++) min = Math.min(min, lowest.get(id));
+        return min;
+    }
+
+    // which worker a board belongs to, from the high bits of the same mix
+    // the closed lists use the low bits of, so each list still spreads out
+    private int owner(long hi, long lo) {
+        int h = LongHashSet.hash(hi) ^ 31 * LongHashSet.hash(lo);
+        return (int)(((h & 0xffffffffL) * workers) >>> 32);
+    }
+
+    // the fewest moves a board was reached in, -1 if it never was
+    private int movesTo(long hi, long lo) {
+        Worker w    = all[owner(hi, lo)];
+        int    node = w.seen.get(hi, lo);
+        return node < 0 ? -1 : w.arena.g(node);
+    }
+
+    // moves of the blank from the initial board to the goal, going back
+    // from the goal to the neighbor reached in the fewest moves each time,
+    // see PartialExpansion.walkBack().  the workers are all done by now
+    private void walkBack() {
+        byte[] state = new byte[cells];
+        long[] key   = new long[2];
+        for (int n = 0; n < cells; n++) state[n] = (byte)n;
+        int here = best;
+        path = new byte[here];
+        while (here > 0) {
+            int zero = 0;
+            while (state[zero] != 0) zero++;
+            int bestDir = -1;
+            int to      = here;
+            for (int dir = 0; dir < Board.DIRECTIONS; dir++) {
+                int next = game.successor[dir][zero];
+                if (next < 0) continue;
+                state[zero] = state[next];
+                state[next] = 0;
+                pack(state, key);
+                int there = movesTo(key[0], key[1]);
+                if (there >= 0 && there < to) { bestDir = dir; to = there; }
+                state[next] = state[zero];
+                state[zero] = 0;
+            }
+            int next = game.successor[bestDir][zero];
+            state[zero] = state[next];
+            state[next] = 0;
+            // walking back, so the move from there to here is the opposite
+            path[to] = (byte)(Board.DIRECTIONS - 1 - bestDir);
+            here = to;
+        }
+    }
+
+    private void pack(byte[] s, long[] key) {
+        if (width == 1) {
+            key[0] = Board.pack(s);
+        } else {
+            key[0] = Board.pack5(s, 0);
+            key[1] = Board.pack5(s, 12);
+        }
+    }
+
+    public int  moves()     { return path.length; }
+    public int  move(int i) { return path[i];     }
+
+    public long numExpanded() {
+        long total = 0;
+        for (Worker w: all) total += w.expanded;
+        return total;
+    }
+
+    // the open lists don't all peak at once, so this is an upper bound
+    public long maxDepth() {
+        long total = 0;
+        for (Worker w: all) total += w.maxOpen;
+        return total;
+    }
+
+    public long bytes() {
+        long total = 0;
+        for (Worker w: all) total += w.bytes();
+        return total;
+    }
+
+    // private variables
+    private final Game          game;
+    private final int           width;
+    private final int           cells;
+    private final boolean       withWalk;
+    private final int           stride;   // longs per record in a batch
+    private final int           workers;
+    private final Worker[]      all;
+    private final AtomicInteger pending;
+    private final AtomicIntegerArray lowest;   // posted by each worker
+    private volatile int        best;
+    private volatile boolean    failed;
+    private volatile Throwable  failure;
+    private byte[]              path;
+}
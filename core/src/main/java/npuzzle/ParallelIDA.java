@@ -0,0 +1,186 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-10-18
+// ParallelIDA.java
+// IDA* for a single puzzle spread over several cores.
+//
+// each iteration walks the tree down to a fixed frontier depth, then the
+// subtrees below the frontier nodes are searched by IDAEngines on a
+// ForkJoinPool, which steals work between threads when subtrees turn out
+// to be uneven.  the frontier nodes are numbered in the order serial IDA*
+// would reach them, and the solution kept is the one with the lowest
+// number, so the answer is exactly the one serial IDA* gives.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+public class ParallelIDA {
+
+    // how deep to expand before handing out subtrees by default.  the branching
+    // factor is about 2, so 8 gives a few hundred subtrees to share out
+    public static final int FRONTIER_DEPTH = 8;
+
+    // pruning is the move pruning automaton, or null to only rule out
+    // going straight back
+    public ParallelIDA(final Board initial, final int maxCost, int frontierDepth,
+                       final MovePruning pruning) {
+        this.initial       = initial;
+        this.maxCost       = maxCost;
+        this.frontierDepth = frontierDepth;
+        this.walker        = new IDAEngine(initial, maxCost, pruning);
+        this.engines       = new ThreadLocal<IDAEngine>() {
+            @Override
+            protected IDAEngine initialValue() {
+                IDAEngine engine = new IDAEngine(initial, maxCost, pruning);
+                synchronized (all) { all.add(engine); }
+                return engine;
+            }
+        };
+    }
+
+    public boolean search() {
+        int threshold = walker.estimate();
+        while (solution == null && threshold <= maxCost) {
+            // walk down to the frontier, serially
+            frontier = new ArrayList<byte[]>();
+            walker.reset();
+            numExpanded.incrementAndGet();
+            next.set(Integer.MAX_VALUE);
+            walk(0, -1, MovePruning.START, threshold);
+            frontierBytes = Math.max(frontierBytes, frontier.size() * (16L + 4 + frontierDepth));
+            // then search below every frontier node at once
+            found   = new byte[frontier.size()][];
+            stop.set(Integer.MAX_VALUE);
+            ForkJoinPool.commonPool().invoke(new Subtrees(0, frontier.size(), threshold));
+            if (stop.get() != Integer.MAX_VALUE) solution = found[stop.get()];
+            else if (next.get() == Integer.MAX_VALUE) break;
+            else threshold = next.get();
+        }
+        return solution != null;
+    }
+
+    // same pruning as IDAEngine.expand(), but stops at the frontier depth
+    // and remembers the moves to each node it stops at.  a goal found
+    // above the frontier is a frontier node too, so it keeps its place
+    // in the ordering.
+    private void walk(int moves, int last, int fsm, int threshold) {
+        if (moves > walkDepth) walkDepth = moves;
+        if (moves == frontierDepth || walker.isGoal()) {
+            byte[] prefix = new byte[moves];
+            for (int i = 0; i < moves; i++) prefix[i] = (byte)walker.move(i);
+            frontier.add(prefix);
+            return;
+        }
+        for (int dir: initial.game().order()) {
+            if (dir == Board.DIRECTIONS - 1 - last) continue;
+            if (!walker.canMove(dir))               continue;
+            int state = walker.prune(fsm, dir);
+            if (state == MovePruning.PRUNED)        continue;
+            walker.push(dir, moves);
+            int f = moves + 1 + walker.estimate();
+            if (f > threshold) lowest(next, f);
+            else {
+                numExpanded.incrementAndGet();
+                walk(moves + 1, dir, state, threshold);
+            }
+            replay(moves);
+        }
+    }
+
+    // undo the last move by replaying the path so far from the start.
+    // only done while walking to the frontier, so it doesn't need to be fast
+    private void replay(int moves) {
+        byte[] prefix = new byte[moves];
+        for (int i = 0; i < moves; i++) prefix[i] = (byte)walker.move(i);
+        walker.reset();
+        for (int i = 0; i < moves; i++) walker.push(prefix[i], i);
+    }
+
+    private static void lowest(AtomicInteger value, int candidate) {
+        int now;
+        while (candidate < (now = value.get()) && !value.compareAndSet(now, candidate));
+    }
+
+    // split the frontier in half until there's one subtree left,
+    // and let the pool's work stealing balance it out
+    private class Subtrees extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        Subtrees(int from, int to, int threshold) {
+            this.from      = from;
+            this.to        = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Subtrees(from, mid, threshold), new Subtrees(mid, to, threshold));
+                return;
+            }
+            if (from >= to || stop.get() < from) return;
+            byte[]    prefix = frontier.get(from);
+            IDAEngine engine = engines.get();
+            engine.reset();
+            for (int i = 0; i < prefix.length; i++) engine.push(prefix[i], i);
+            int last = prefix.length == 0 ? -1 : prefix[prefix.length - 1];
+            int fsm  = MovePruning.START;
+            for (int i = 0; i < prefix.length; i++) fsm = engine.prune(fsm, prefix[i]);
+            if (engine.searchFrom(prefix.length, last, fsm, threshold, stop, from)) {
+                byte[] moves = new byte[engine.moves()];
+                for (int i = 0; i < moves.length; i++) moves[i] = (byte)engine.move(i);
+                found[from] = moves;
+                lowest(stop, from);
+            }
+            lowest(next, engine.nextThreshold());
+        }
+
+        private final int from, to, threshold;
+    }
+
+    public boolean isSolved()  { return solution != null; }
+    public int     moves()     { return solution.length; }
+    public int     move(int i) { return solution[i]; }
+
+    // the engines count as they go, so add them up at the end
+    public long numExpanded() {
+        long total = numExpanded.get();
+        synchronized (all) { for (IDAEngine e: all) total += e.numExpanded(); }
+        return total;
+    }
+
+    public int maxDepth() {
+        int max = walkDepth;
+        synchronized (all) { for (IDAEngine e: all) max = Math.max(max, e.maxDepth()); }
+        return max;
+    }
+
+    // every engine plus the largest frontier of move prefixes
+    public long bytes() {
+        long total = walker.bytes() + frontierBytes;
+        synchronized (all) { for (IDAEngine e: all) total += e.bytes(); }
+        return total;
+    }
+
+    // private variables
+    private final Board                  initial;
+    private final int                    maxCost;
+    private final int                    frontierDepth;
+    private final IDAEngine              walker;
+    private final ThreadLocal<IDAEngine> engines;
+    private final ArrayList<IDAEngine>   all         = new ArrayList<IDAEngine>();
+    private final AtomicInteger          stop        = new AtomicInteger();
+    private final AtomicInteger          next        = new AtomicInteger();
+    private final AtomicLong             numExpanded = new AtomicLong();
+    private volatile ArrayList<byte[]>   frontier;
+    private volatile byte[][]            found;
+    private byte[]                       solution;
+    private int                          walkDepth;
+    private long                         frontierBytes;
+}
@@ -0,0 +1,185 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-06
+// PartialExpansion.java
+// enhanced partial expansion A* (EPEA*, Felner et al. 2012).  plain A* puts
+// every new child on the open list, and most of them are never taken off
+// again before the goal is found.  here a node only generates the children
+// whose f is the f it was taken off the open list at, and then goes back
+// on itself at the next larger f among the rest.  the f of a child comes
+// from the same per tile deltas the in-place searches use, worked out on
+// the parent's tiles, so the children that are left for later are never
+// built at all.  unlike the paper there are no operator selection tables
+// saying which moves change f by how much: every delta is worked out each
+// time a node comes off the list.  for MAN a delta is one table lookup,
+// as cheap as the table would be, and for the others a child's f isn't
+// known without its delta anyway.  states are packed, with the fewest
+// moves each was reached in, which is also how the path is walked back at
+// the end, so only boards that pack (up to 5x5) can be searched this way.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+public class PartialExpansion {
+
+    // a state on the open list: the tiles, the moves it took, the f it is
+    // queued at, and the parts of the heuristic so the deltas can go on
+    private static class Node {
+        long hi, lo;
+        int  g, f, dist, inter, walk;
+    }
+
+    // what a Node costs, object header and fields
+    private static final int NODE_BYTES = 48;
+
+    public PartialExpansion(Board initial) {
+        if (initial.packedWidth() == 0) throw new IllegalArgumentException();
+        this.game  = initial.game();
+        this.width = initial.packedWidth();
+        this.cells = game.cells;
+        this.state = new byte[cells];
+        this.where = new int[cells];
+        this.key   = new long[2];
+        this.seen  = new LongHashSet(width, 1 << 16, true);
+        this.open  = new BucketQueue<Node>();
+        Node root  = new Node();
+        root.dist  = game.startDist(initial);
+        root.inter = game.startInter(initial);
+        root.walk  = game.startWalk(initial);
+        pack(initial.getState());
+        root.hi = key[0];
+        root.lo = key[1];
+        root.f  = game.cost(root.dist, root.inter, root.walk);
+        seen.put(key[0], key[1], 0);
+        open.add(root, root.f, 0);
+    }
+
+    public boolean search() {
+        while (!open.isEmpty()) {
+            if (open.size() > maxDepth) maxDepth = open.size();
+            long held = held();
+            if (held > peakBytes) peakBytes = held;
+            Node node = open.remove();
+            // a cheaper copy was queued after this one
+            if (seen.get(node.hi, node.lo) < node.g) continue;
+            numExpanded++;
+            if (node.dist == 0) {
+                goal = node;
+                walkBack();
+                return true;
+            }
+            if (width == 1) Board.unpack(node.hi, state);
+            else            Board.unpack(node.hi, node.lo, state);
+            for (int n = 0; n < cells; n++) where[state[n]] = n;
+            int  oZ    = where[0];
+            // the first time out, children with a lower f than the node
+            // (only with an inconsistent heuristic) are due as well
+            boolean first = node.f == node.g + game.cost(node.dist, node.inter, node.walk);
+            int  later = Integer.MAX_VALUE;
+            for (int dir: game.order()) {
+                int nZ = game.successor[dir][oZ];
+                if (nZ < 0) continue;
+                int dist  = node.dist  + game.distDelta(state, where, oZ, nZ, dir);
+                int inter = node.inter + game.interDelta(state, oZ, nZ, dir);
+                int walk  = game.walkAfter(node.walk, state, nZ, dir);
+                int f = node.g + 1 + game.cost(dist, inter, walk);
+                if (f > node.f) {
+                    if (f < later) later = f;
+                    continue;
+                }
+                if (f < node.f && !first) continue;   // made last time
+                state[oZ] = state[nZ];
+                state[nZ] = 0;
+                pack(state);
+                state[nZ] = state[oZ];
+                state[oZ] = 0;
+                int before = seen.get(key[0], key[1]);
+                if (before >= 0 && before <= node.g + 1) continue;
+                seen.put(key[0], key[1], node.g + 1);
+                Node child  = new Node();
+                child.hi    = key[0];
+                child.lo    = key[1];
+                child.g     = node.g + 1;
+                child.f     = f;
+                child.dist  = dist;
+                child.inter = inter;
+                child.walk  = walk;
+                open.add(child, child.f, child.g);
+            }
+            // back on the list for the children that were left out
+            if (later != Integer.MAX_VALUE) {
+                node.f = later;
+                open.add(node, later, node.g);
+            }
+        }
+        return false;
+    }
+
+    // moves of the blank from the initial board to the goal.  going back
+    // from the goal, every state but the initial one has a neighbor that
+    // was reached in fewer moves, and with the goal's moves optimal it can
+    // only be one fewer, see Bidirectional.walk()
+    private void walkBack() {
+        if (width == 1) Board.unpack(goal.hi, state);
+        else            Board.unpack(goal.hi, goal.lo, state);
+        int here = goal.g;
+        path = new byte[here];
+        while (here > 0) {
+            int zero = 0;
+            while (state[zero] != 0) zero++;
+            int best = -1;
+            int to   = here;
+            for (int dir = 0; dir < Board.DIRECTIONS; dir++) {
+                int next = game.successor[dir][zero];
+                if (next < 0) continue;
+                state[zero] = state[next];
+                state[next] = 0;
+                pack(state);
+                int there = seen.get(key[0], key[1]);
+                if (there >= 0 && there < to) { best = dir; to = there; }
+                state[next] = state[zero];
+                state[zero] = 0;
+            }
+            int next = game.successor[best][zero];
+            state[zero] = state[next];
+            state[next] = 0;
+            // walking back, so the move from there to here is the opposite
+            path[to] = (byte)(Board.DIRECTIONS - 1 - best);
+            here = to;
+        }
+    }
+
+    private void pack(byte[] s) {
+        if (width == 1) {
+            key[0] = Board.pack(s);
+        } else {
+            key[0] = Board.pack5(s, 0);
+            key[1] = Board.pack5(s, 12);
+        }
+    }
+
+    public int  moves()       { return path.length; }
+    public int  move(int i)   { return path[i];     }
+    public long numExpanded() { return numExpanded; }
+    public long maxDepth()    { return maxDepth;    }
+    // the most held at any point, the closed list only grows but the open
+    // one shrinks at the end
+    public long bytes()       { return Math.max(peakBytes, held()); }
+
+    private long held() { return seen.bytes() + (long)NODE_BYTES * open.size(); }
+
+    // private variables
+    private final Game               game;
+    private final int                width;
+    private final int                cells;
+    private final byte[]             state;
+    private final int[]              where;
+    private final long[]             key;
+    private final LongHashSet        seen;
+    private final BucketQueue<Node>  open;
+    private Node                     goal;
+    private byte[]                   path;
+    private long                     numExpanded;
+    private long                     maxDepth;
+    private long                     peakBytes;
+}
@@ -0,0 +1,381 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-10-09
+// PatternDB.java
+// additive disjoint pattern databases (Korf & Felner 2002)
+//
+// the tiles are split into disjoint groups.  for each group a table holds
+// the exact number of moves *of that group's tiles* needed to bring them
+// home from every placement, ignoring all the other tiles.  since no move
+// is counted by two groups, the table values can be added together and
+// still never overestimate.
+//
+// the tables are generated once with 'Solver -genpdb' and written to disk.
+// file layout (big endian):
+//   "NPDB", version, dimension, number of groups, CRC32 of the data,
+//   then for each group: tile count, bits per entry (8, or 4 if every
+//   value fits in a nibble), and the tiles.  the data follows, one table
+//   after another in group order.
+// the files are mapped read-only, so solver processes on one host share
+// the page cache and nothing is read until it is looked up.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.Arrays;
+import java.io.File;
+import java.io.IOException;
+import java.io.DataOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+public class PatternDB {
+
+    // tile partitions.  a group of 8 on 4x4 (the 7-8 partition) has more
+    // placements with the blank than an int can rank, so 6-6-3 is as big
+    // as the tables go
+    public static final int[][] PARTITION_44  = { { 1, 2, 3, 4 }, { 5, 6, 7, 8 } };
+    public static final int[][] PARTITION_663 = { { 1, 5, 6, 9, 10, 13 },
+                                                  { 7, 8, 11, 12, 14, 15 },
+                                                  { 2, 3, 4 } };
+
+    private static final int UNSEEN  = 0xff;
+    private static final int MAGIC   = 0x4e504442;    // "NPDB"
+    private static final int VERSION = 1;
+
+    // one database per dimension, loaded on first use
+    private static PatternDB[] cached     = new PatternDB[12];
+    private static boolean[]   warned     = new boolean[12];
+
+    // the default partition for a dimension, or null if there isn't one
+    public static int[][] partitionFor(int dim) {
+        switch (dim) {
+            case 3:  return PARTITION_44;
+            case 4:  return PARTITION_663;
+            default: return null;
+        }
+    }
+
+    // file name for a partition, i.e. pdb-4x4-663.db
+    public static String fileName(int dim, int[][] groups) {
+        StringBuffer temp = new StringBuffer();
+        temp.append("pdb-" + dim + "x" + dim + "-");
+        for (int[] g: groups) temp.append(g.length);
+        temp.append(".db");
+        return temp.toString();
+    }
+
+    // returns null, with a warning on stderr the first time, if there is no usable
+    // file for this dimension.  the caller falls back to INT.
+    public static synchronized PatternDB forDimension(int dim) {
+        int[][] groups = partitionFor(dim);
+        if (dim < cached.length && cached[dim] != null && cached[dim].groups == groups)
+            return cached[dim];
+        String problem;
+        if (groups == null) problem = "no pattern database for " + dim + "x" + dim;
+        else try {
+            cached[dim] = load(new File(fileName(dim, groups)), dim, groups);
+            return cached[dim];
+        } catch (IOException e) {
+            problem = e.getMessage() + ", generate it with -genpdb";
+        }
+        if (dim < warned.length && !warned[dim]) {
+            System.err.println("  Warning: " + problem + ". Using INT.");
+            warned[dim] = true;
+        }
+        return null;
+    }
+
+    // set up the tile -> group maps.  the tables are filled in by
+    // generate() or load()
+    private PatternDB(int dim, int[][] groups) {
+        this.dim     = dim;
+        this.cells   = dim * dim;
+        this.groups  = groups;
+        this.groupOf = new byte[cells];
+        this.indexOf = new byte[cells];
+        this.tables  = new ByteBuffer[groups.length];
+        this.bits    = new int[groups.length];
+        for (int r = 0; r < dim; r++) leftCol |= 1 << (r * dim);
+        this.rightCol = leftCol << (dim - 1);
+        Arrays.fill(groupOf, (byte)-1);
+        for (int g = 0; g < groups.length; g++)
+            for (int i = 0; i < groups[g].length; i++) {
+                groupOf[groups[g][i]] = (byte)g;
+                indexOf[groups[g][i]] = (byte)i;
+            }
+    }
+
+    // build every table by retrograde breadth first search from the goal
+    public static PatternDB generate(int dim, int[][] groups) {
+        // the ranks with the blank are ints, checked before anything is built
+        for (int[] g: groups)
+            if (placements(dim * dim, g.length + 1) > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("a group of " + g.length + " tiles is too big to build");
+        PatternDB db = new PatternDB(dim, groups);
+        for (int g = 0; g < groups.length; g++) {
+            db.tables[g] = ByteBuffer.wrap(db.build(groups[g]));
+            db.bits[g]   = 8;
+        }
+        return db;
+    }
+
+    public void save(File file) throws IOException {
+        // pack each table into nibbles if it can be
+        byte[][] packed = new byte[groups.length][];
+        CRC32 crc = new CRC32();
+        for (int g = 0; g < groups.length; g++) {
+            byte[] table = tables[g].array();
+            int max = 0;
+            for (byte b: table) if ((b & 0xff) > max) max = b & 0xff;
+            if (max < 16) {
+                packed[g] = new byte[(table.length + 1) / 2];
+                for (int i = 0; i < table.length; i++)
+                    packed[g][i >>> 1] |= (byte)(table[i] << ((i & 1) << 2));
+            } else packed[g] = table;
+            crc.update(packed[g]);
+        }
+        try (DataOutputStream out = new DataOutputStream(
+                 new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(dim);
+            out.writeInt(groups.length);
+            out.writeLong(crc.getValue());
+            for (int g = 0; g < groups.length; g++) {
+                out.writeInt(groups[g].length);
+                out.writeInt(packed[g] == tables[g].array() ? 8 : 4);
+                for (int tile: groups[g]) out.writeByte(tile);
+            }
+            for (byte[] table: packed) out.write(table);
+        }
+    }
+
+    // map a file written by save(), checking that it is the partition we
+    // expect and that the data is intact
+    public static PatternDB load(File file, int dim, int[][] groups) throws IOException {
+        if (!file.exists()) throw new IOException(file + " not found");
+        MappedByteBuffer map;
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+        PatternDB db = new PatternDB(dim, groups);
+        try {
+            if (map.getInt() != MAGIC)         throw new IOException(file + " is not a pattern database");
+            if (map.getInt() != VERSION)       throw new IOException(file + " is the wrong version");
+            if (map.getInt() != dim ||
+                map.getInt() != groups.length) throw new IOException(file + " is for another board");
+            long checksum = map.getLong();
+            for (int g = 0; g < groups.length; g++) {
+                if (map.getInt() != groups[g].length) throw new IOException(file + " has another partition");
+                db.bits[g] = map.getInt();
+                for (int tile: groups[g])
+                    if (map.get() != tile)    throw new IOException(file + " has another partition");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(map.duplicate());
+            if (crc.getValue() != checksum)   throw new IOException(file + " is corrupt");
+            for (int g = 0; g < groups.length; g++) {
+                long entries = placements(dim * dim, groups[g].length);
+                if (entries > Integer.MAX_VALUE) throw new IOException(file + " has a group too big to map");
+                int length = (int)entries;
+                if (db.bits[g] == 4) length = (length + 1) / 2;
+                ByteBuffer table = map.slice();
+                table.limit(length);
+                db.tables[g] = table;
+                map.position(map.position() + length);
+            }
+        } catch (java.nio.BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException(file + " is truncated");
+        }
+        return db;
+    }
+
+    // table value, from either a byte or a nibble
+    private int entry(int g, int idx) {
+        if (bits[g] == 8) return tables[g].get(idx) & 0xff;
+        return (tables[g].get(idx >>> 1) >>> ((idx & 1) << 2)) & 0xf;
+    }
+
+    // number of ways to place k distinct items on n cells
+    static long placements(int n, int k) {
+        long total = 1;
+        for (int i = 0; i < k; i++) total *= n - i;
+        return total;
+    }
+
+    // rank the positions of k items among n cells as a k-permutation:
+    // each position is counted among the cells the earlier items left free.
+    // boards this is used on have at most 16 cells, so a mask will do
+    static int rank(int[] pos, int k, int n) {
+        int idx  = 0;
+        int used = 0;
+        for (int i = 0; i < k; i++) {
+            int r = pos[i] - Integer.bitCount(used & ((1 << pos[i]) - 1));
+            idx   = idx * (n - i) + r;
+            used |= 1 << pos[i];
+        }
+        return idx;
+    }
+
+    // breadth first search over (pattern tiles, blank) placements.
+    // moving the blank into a cell holding a non-pattern tile is free, so
+    // all that matters about the blank is which region of non-pattern
+    // cells it is in; each region is represented by its lowest cell.
+    // moving a pattern tile into the region costs one, so every layer
+    // of the search is exactly one pattern move further from the goal,
+    // and the first time a placement turns up is its table value.
+    // the blank is ranked last, so dropping it from the index is a divide.
+    private byte[] build(int[] tiles) {
+        int    k      = tiles.length;
+        int    free   = cells - k;
+        byte[] table  = new byte[(int)placements(cells, k)];
+        long[] seen   = new long[(int)((placements(cells, k + 1) + 63) / 64)];
+        int[]  pos    = new int[k + 1];
+        int[]  offset = { -dim, 1, -1, dim };
+        Arrays.fill(table, (byte)UNSEEN);
+
+        for (int i = 0; i < k; i++) pos[i] = tiles[i];
+        pos[k] = lowest(region(1, mask(pos, k)));
+        int[] layer = new int[1024];
+        int[] next  = new int[1024];
+        int   count = 1;
+        layer[0] = rank(pos, k + 1, cells);
+        seen[layer[0] >>> 6] |= 1L << layer[0];
+        table[layer[0] / free] = 0;
+        for (int d = 0; count > 0; d++) {
+            int nextCount = 0;
+            for (int q = 0; q < count; q++) {
+                decode(layer[q], pos, k + 1);
+                int own   = mask(pos, k);
+                int blank = region(1 << pos[k], own);
+                for (int i = 0; i < k; i++) {
+                    int from = pos[i];
+                    for (int dir = 0; dir < Board.DIRECTIONS; dir++) {
+                        int to = from + offset[dir];
+                        if (to < 0 || to >= cells || (blank & (1 << to)) == 0) continue;
+                        if ((dir == Board.RIGHT || dir == Board.LEFT) && to / dim != from / dim) continue;
+                        // slide pattern tile i into the blank's region
+                        int moved = own & ~(1 << from) | (1 << to);
+                        pos[i] = to;
+                        pos[k] = lowest(region(1 << from, moved));
+                        int n = rank(pos, k + 1, cells);
+                        pos[i] = from;
+                        if ((seen[n >>> 6] & (1L << n)) != 0) continue;
+                        seen[n >>> 6] |= 1L << n;
+                        if ((table[n / free] & 0xff) == UNSEEN) table[n / free] = (byte)(d + 1);
+                        if (nextCount == next.length) next = Arrays.copyOf(next, 2 * nextCount);
+                        next[nextCount++] = n;
+                    }
+                }
+            }
+            int[] swap = layer;
+            layer = next;
+            next  = swap;
+            count = nextCount;
+        }
+        return table;
+    }
+
+    private static int mask(int[] pos, int k) {
+        int m = 0;
+        for (int i = 0; i < k; i++) m |= 1 << pos[i];
+        return m;
+    }
+
+    private static int lowest(int m) { return Integer.numberOfTrailingZeros(m); }
+
+    // flood fill the cells reachable from start without crossing a pattern tile
+    private int region(int start, int own) {
+        int open = ((1 << cells) - 1) & ~own;
+        int m    = start & open;
+        while (true) {
+            int grown = m | ((m & ~rightCol) << 1) | ((m & ~leftCol) >>> 1) |
+                        (m << dim) | (m >>> dim);
+            grown &= open;
+            if (grown == m) return m;
+            m = grown;
+        }
+    }
+
+    // turn an index back into absolute positions
+    private void decode(int idx, int[] pos, int k) {
+        for (int i = k - 1; i >= 0; i--) {
+            pos[i] = idx % (cells - i);
+            idx    = idx / (cells - i);
+        }
+        // pos[i] is the rank of the cell among those not used by pos[0..i-1]
+        int open = (1 << cells) - 1;
+        for (int i = 0; i < k; i++) {
+            int m = open;
+            for (int r = pos[i]; r > 0; r--) m &= m - 1;
+            pos[i] = Integer.numberOfTrailingZeros(m);
+            open  &= ~(1 << pos[i]);
+        }
+    }
+
+    // full lookup, for the initial board.
+    // the tables are shared between games, so each game brings its own
+    // scratch space for the tile positions
+    public int distance(byte[] state, int[] scratch) {
+        int total = 0;
+        for (int g = 0; g < groups.length; g++)
+            total += lookup(state, g, scratch);
+        return total;
+    }
+
+    private int lookup(byte[] state, int g, int[] scratch) {
+        for (int n = 0; n < cells; n++)
+            if (state[n] != 0 && groupOf[state[n]] == g)
+                scratch[indexOf[state[n]]] = n;
+        return entry(g, rank(scratch, groups[g].length, cells));
+    }
+
+    // change in value when the tile at nZ slides into the zero at oZ.
+    // only the group holding that tile can change
+    public int delta(byte[] state, int oZ, int nZ, int[] scratch) {
+        int tile = state[nZ];
+        int g    = groupOf[tile];
+        if (g < 0) return 0;
+        int before = lookup(state, g, scratch);
+        scratch[indexOf[tile]] = oZ;
+        return entry(g, rank(scratch, groups[g].length, cells)) - before;
+    }
+
+    // the same, for searches that keep track of where each tile is
+    // (where[tile] = cell) so they don't have to scan the board
+    public int delta(int[] where, int tile, int to) {
+        int g = groupOf[tile];
+        if (g < 0) return 0;
+        return lookup(where, g, tile, to) - lookup(where, g, tile, where[tile]);
+    }
+
+    private int lookup(int[] where, int g, int tile, int at) {
+        int[] tiles = groups[g];
+        int   idx   = 0;
+        int   used  = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            int p = tiles[i] == tile ? at : where[tiles[i]];
+            idx   = idx * (cells - i) + p - Integer.bitCount(used & ((1 << p) - 1));
+            used |= 1 << p;
+        }
+        return entry(g, idx);
+    }
+
+    public int dimension() { return dim; }
+
+    // private variables
+    private final int      dim;
+    private final int      cells;
+    private final int[][]  groups;
+    private final byte[]   groupOf;
+    private final byte[]   indexOf;
+    private final ByteBuffer[] tables;
+    private final int[]    bits;
+    private final int      rightCol;
+    private int            leftCol;
+}
@@ -0,0 +1,64 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-08
+// Permutation.java
+// a board is a permutation of 0..n-1, so it can be numbered densely from 0
+// to n!-1.  the rank here is lexicographic over where each tile is (tile 0,
+// the blank, most significant): each position is counted among the cells
+// the lower tiles left free, which is a popcount on a mask of used cells
+// instead of the O(n^2) count of smaller elements.  up to 4x4, since 16!
+// still fits in a long and the cells in an int mask.
+//
+// the last two tiles go in whichever two cells the others left, so ranks
+// 2k and 2k+1 are the same board with those two tiles swapped.
+// swapping two tiles makes a board that can't be reached from the other,
+// so among the boards one search can reach, rank/2 is still unique.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+public class Permutation {
+
+    public static final int MAX_CELLS = 16;
+
+    private Permutation() {}
+
+    // n!
+    public static long count(int n) {
+        long total = 1;
+        for (int i = 2; i <= n; i++) total *= i;
+        return total;
+    }
+
+    // where is scratch space, at least as long as the state
+    public static long rank(byte[] state, int[] where) {
+        int n = state.length;
+        for (int c = 0; c < n; c++) where[state[c]] = c;
+        long idx  = 0;
+        int  used = 0;
+        for (int t = 0; t < n; t++) {
+            int r = where[t] - Integer.bitCount(used & ((1 << where[t]) - 1));
+            idx   = idx * (n - t) + r;
+            used |= 1 << where[t];
+        }
+        return idx;
+    }
+
+    // the state with this rank, filled into state
+    public static void unrank(long rank, byte[] state) {
+        int   n      = state.length;
+        int[] digits = new int[n];
+        for (int t = n - 1; t >= 0; t--) {
+            digits[t] = (int)(rank % (n - t));
+            rank     /= n - t;
+        }
+        int open = (1 << n) - 1;
+        for (int t = 0; t < n; t++) {
+            int m = open;
+            for (int r = digits[t]; r > 0; r--) m &= m - 1;
+            int cell = Integer.numberOfTrailingZeros(m);
+            state[cell] = (byte)t;
+            open &= ~(1 << cell);
+        }
+    }
+}
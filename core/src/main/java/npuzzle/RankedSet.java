@@ -0,0 +1,58 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-08
+// RankedSet.java
+// closed list as a bitset with one bit for every board one search can
+// reach, indexed by Permutation.rank()/2.  for 3x3 that is 181,440 bits,
+// a fixed 23kb however much of the space gets visited, where the packed
+// hash set costs 8 bytes and some slack per board.  only for boards whose
+// whole space fits, so not 4x4, where a search touches so little of the
+// 10^13 boards that the hash set is far smaller.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.Arrays;
+public class RankedSet {
+
+    // the biggest bitset worth having, 32MB
+    private static final long MAX_BITS = 1L << 28;
+
+    public static boolean fits(int cells) {
+        return cells <= Permutation.MAX_CELLS && Permutation.count(cells) / 2 <= MAX_BITS;
+    }
+
+    public RankedSet(int cells) {
+        if (!fits(cells)) throw new IllegalArgumentException("too many boards for a bitset");
+        this.bits  = new long[(int)((Permutation.count(cells) / 2 + 63) >>> 6)];
+        this.where = new int[cells];
+    }
+
+    public boolean contains(byte[] state) {
+        long i = Permutation.rank(state, where) >>> 1;
+        return (bits[(int)(i >>> 6)] & 1L << i) != 0;
+    }
+
+    // true if it wasn't there already
+    public boolean add(byte[] state) {
+        long i    = Permutation.rank(state, where) >>> 1;
+        int  word = (int)(i >>> 6);
+        if ((bits[word] & 1L << i) != 0) return false;
+        bits[word] |= 1L << i;
+        size++;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(bits, 0L);
+        size = 0;
+    }
+
+    public int  size()  { return size;              }
+    public long bytes() { return 8L * bits.length;  }
+
+    // private variables
+    private final long[] bits;
+    private final int[]  where;
+    private int          size;
+}
@@ -0,0 +1,141 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-03
+// SolutionCache.java
+// optimal solutions already found, so a batch that has the same board more
+// than once only searches it the first time.  a board flipped about the main
+// diagonal, with every tile renamed to the one whose goal cell it flips to,
+// is the same puzzle: the goal flips onto itself, and a solution of one is a
+// solution of the other with UP and LEFT, and RIGHT and DOWN, swapped.  so
+// each board is filed under whichever of it and its mirror image comes first,
+// and the moves are flipped on the way in or out.  when full, the entry used
+// least recently is forgotten.  save() and load() keep it between runs.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+public class SolutionCache {
+
+    // the move in the mirror image, by direction
+    private static final int[]  MIRRORED = new int[Board.DIRECTIONS];
+    // how the moves are written in the file, by direction
+    private static final String LETTERS  = "URLD";
+    static {
+        MIRRORED[Board.UP]    = Board.LEFT;
+        MIRRORED[Board.LEFT]  = Board.UP;
+        MIRRORED[Board.RIGHT] = Board.DOWN;
+        MIRRORED[Board.DOWN]  = Board.RIGHT;
+    }
+
+    public SolutionCache(final int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity " + capacity);
+        // access ordered, so the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<ByteBuffer, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, byte[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    // the moves of the blank that solve this board, null if it isn't here
+    public synchronized int[] get(Board board) {
+        byte[]  state  = board.getState();
+        byte[]  mirror = mirror(state, board.dimension());
+        boolean flip   = compare(mirror, state) < 0;
+        byte[]  path   = entries.get(ByteBuffer.wrap(flip ? mirror : state));
+        if (path == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        int[] moves = new int[path.length];
+        for (int i = 0; i < path.length; i++) moves[i] = flip ? MIRRORED[path[i]] : path[i];
+        return moves;
+    }
+
+    // remember an optimal solution of this board
+    public synchronized void put(Board board, int[] moves) {
+        byte[]  state  = board.getState();
+        byte[]  mirror = mirror(state, board.dimension());
+        boolean flip   = compare(mirror, state) < 0;
+        byte[]  path   = new byte[moves.length];
+        for (int i = 0; i < path.length; i++) path[i] = (byte)(flip ? MIRRORED[moves[i]] : moves[i]);
+        entries.put(ByteBuffer.wrap(flip ? mirror : state.clone()), path);
+    }
+
+    // the board flipped about the main diagonal: cell (r,c) goes to (c,r),
+    // and tile t becomes the tile whose goal is where t's goal flips to
+    static byte[] mirror(byte[] state, int dim) {
+        byte[] mirror = new byte[state.length];
+        for (int n = 0; n < state.length; n++)
+            mirror[n % dim * dim + n / dim] = (byte)(state[n] % dim * dim + state[n] / dim);
+        return mirror;
+    }
+
+    private static int compare(byte[] a, byte[] b) {
+        for (int n = 0; n < a.length; n++)
+            if (a[n] != b[n]) return a[n] - b[n];
+        return 0;
+    }
+
+    // one entry a line, least recently used first so that loading it
+    // back gives the same order: the cells, a colon, and the moves
+    public synchronized void save(File file) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            StringBuilder line = new StringBuilder();
+            for (Map.Entry<ByteBuffer, byte[]> e: entries.entrySet()) {
+                line.setLength(0);
+                for (byte cell: e.getKey().array()) line.append(cell).append(' ');
+                line.append(':');
+                for (byte dir: e.getValue()) line.append(LETTERS.charAt(dir));
+                out.println(line);
+            }
+        }
+    }
+
+    // add the entries of a file written by save().  lines that don't make
+    // sense are skipped; a wrong solution is caught when it is replayed
+    public synchronized void load(File file) throws IOException {
+        try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                int colon = line.indexOf(':');
+                if (colon < 0) continue;
+                String[] cells = line.substring(0, colon).trim().split("\\s+");
+                String   moves = line.substring(colon + 1).trim();
+                byte[]   state = new byte[cells.length];
+                byte[]   path  = new byte[moves.length()];
+                try {
+                    for (int n = 0; n < cells.length; n++) state[n] = Byte.parseByte(cells[n]);
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                boolean valid = true;
+                for (int i = 0; i < path.length; i++) {
+                    path[i] = (byte)LETTERS.indexOf(moves.charAt(i));
+                    if (path[i] < 0) valid = false;
+                }
+                if (valid) entries.put(ByteBuffer.wrap(state), path);
+            }
+        }
+    }
+
+    public synchronized int  size()   { return entries.size(); }
+    public synchronized long hits()   { return hits;           }
+    public synchronized long misses() { return misses;         }
+
+    // private variables
+    private final LinkedHashMap<ByteBuffer, byte[]> entries;
+    private long                                    hits;
+    private long                                    misses;
+}
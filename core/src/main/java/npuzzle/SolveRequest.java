@@ -0,0 +1,102 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-10-25
+// SolveRequest.java
+// everything needed to solve one puzzle from code instead of the command line:
+// the board, the method and heuristic, and the options that used to be
+// command line switches.  hand it to Solver.solve() to get a SolveResult.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+public class SolveRequest {
+
+    private final String          puzzle;
+    private final Solver.Method   method;
+    private final Board.Heuristic heuristic;
+    private int[]                 order;
+    private boolean               skipUnsolvable = true;
+    private boolean               useHeap        = false;
+    private boolean               forceGC        = false;
+    private SolutionCache         cache;
+    private long                  maxMemory      = 0;
+    private int                   tableSize      = 0;
+    private int                   frontierDepth  = ParallelIDA.FRONTIER_DEPTH;
+    private int                   workers        = Runtime.getRuntime().availableProcessors();
+    private boolean               pruning        = true;
+    private long                  bfsBudget      = FrontierBFS.BUDGET;
+    private boolean               exhaustive     = false;
+    private FrontierBFS.Progress  progress;
+
+    // default to IDA* with manhattan + interference, like the command line
+    public SolveRequest(String puzzle) {
+        this(puzzle, Solver.Method.IDA, Board.Heuristic.INT);
+    }
+
+    // puzzle is the cells in row order separated by spaces, 0 is the blank
+    public SolveRequest(String puzzle, Solver.Method method, Board.Heuristic heuristic) {
+        if (puzzle == null || method == null || heuristic == null)
+            throw new NullPointerException();
+        this.puzzle    = puzzle;
+        this.method    = method;
+        this.heuristic = heuristic;
+    }
+
+    // fringe exploration order such as "DRUL", false if it isn't valid.
+    // without one the default order from Board.setOrder() is used
+    public boolean setOrder(String order) {
+        int[] parsed = Board.parseOrder(order);
+        if (parsed == null) return false;
+        this.order = parsed;
+        return true;
+    }
+
+    // same as -noskip when false: search even if the inversions
+    // test says there is no solution
+    public void setSkipUnsolvable(boolean skip) { this.skipUnsolvable = skip; }
+    // same as -heap: binary heap instead of f buckets for A*
+    public void setUseHeap(boolean heap)        { this.useHeap = heap;        }
+    // same as -gc: collect garbage first and measure memory from the
+    // heap rather than estimating it.  costs a full gc per solve
+    public void setForceGC(boolean force)       { this.forceGC = force;       }
+    // look the board up here first, and add it once solved.  only the
+    // optimal methods use it, so DFS still searches every time
+    public void setCache(SolutionCache cache)   { this.cache = cache;         }
+    // same as -maxmem, in bytes: AST and ASP forget every node and go on
+    // as IDR once they would hold more than this.  0 for no limit
+    public void setMaxMemory(long bytes)        { this.maxMemory = bytes;     }
+    // same as -tt: MB of transposition table for IDA and IDR, 0 for none
+    public void setTableSize(int mb)            { this.tableSize = mb;        }
+    // same as -frontier: depth at which IDP hands out subtrees
+    public void setFrontierDepth(int depth)     { this.frontierDepth = depth; }
+    // same as -workers: threads HDA splits the puzzle over
+    public void setWorkers(int count)           { this.workers = count;       }
+    // same as -noprune when false: the tree searches only rule out
+    // going straight back
+    public void setPruning(boolean on)          { this.pruning = on;          }
+    // same as -bfsmem: bytes of heap BFS layers may use before going to disk
+    public void setBfsBudget(long bytes)        { this.bfsBudget = bytes;     }
+    // same as -exhaust: BFS keeps going past the goal to count every state
+    public void setExhaustive(boolean all)      { this.exhaustive = all;      }
+    // same as -layers: told about each BFS layer as it finishes, null for nothing
+    public void setProgress(FrontierBFS.Progress progress) { this.progress = progress; }
+
+    public String          puzzle()         { return puzzle;         }
+    public Solver.Method   method()         { return method;         }
+    public Board.Heuristic heuristic()      { return heuristic;      }
+    public boolean         skipUnsolvable() { return skipUnsolvable; }
+    public boolean         useHeap()        { return useHeap;        }
+    public boolean         forceGC()        { return forceGC;        }
+    public SolutionCache   cache()          { return cache;          }
+    public long            maxMemory()      { return maxMemory;      }
+    public int             tableSize()      { return tableSize;      }
+    public int             frontierDepth()  { return frontierDepth;  }
+    public int             workers()        { return workers;        }
+    public boolean         pruning()        { return pruning;        }
+    public long            bfsBudget()      { return bfsBudget;      }
+    public boolean         exhaustive()     { return exhaustive;     }
+    public FrontierBFS.Progress progress()  { return progress;       }
+
+    // a fresh initial board for this request
+    Board board() { return new Board(puzzle, heuristic, order); }
+}
@@ -0,0 +1,154 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-10-25
+// SolveResult.java
+// the outcome of one solve: the moves, their cost and the search statistics.
+// toString() and toCSV() are what the command line prints.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.Collections;
+import java.util.List;
+
+public class SolveResult {
+
+    private final Board           initial;
+    private final Solver.Method   method;
+    private final boolean         solved;
+    private final int             length;
+    private final List<Board>     solution;
+    private final long            expanded;
+    private final long            maxDepth;
+    private final long            elapsed;
+    private final long            memory;
+    private final long            forgotten;
+
+    // solution runs from the initial board to the last one reached,
+    // which is the goal when solved
+    SolveResult(Board initial, Solver.Method method, boolean solved, List<Board> solution,
+                long expanded, long maxDepth, long elapsed, long memory) {
+        this(initial, method, solved, solution, expanded, maxDepth, elapsed, memory, 0);
+    }
+
+    // forgotten is how many nodes the search let go of to stay in -maxmem
+    SolveResult(Board initial, Solver.Method method, boolean solved, List<Board> solution,
+                long expanded, long maxDepth, long elapsed, long memory, long forgotten) {
+        this.initial  = initial;
+        this.method   = method;
+        this.solved   = solved;
+        this.length   = solution.size() - 1;
+        this.solution = Collections.unmodifiableList(solution);
+        this.expanded = expanded;
+        this.maxDepth = maxDepth;
+        this.elapsed  = elapsed;
+        this.memory   = memory;
+        this.forgotten = forgotten;
+    }
+
+    public boolean         isSolved()    { return solved;                       }
+    // number of moves in the solution, -1 if there isn't one
+    public int             cost()        { return solved ? length : -1;         }
+    public long            expanded()    { return expanded;                     }
+    // largest the open list (or search stack) got
+    public long            maxDepth()    { return maxDepth;                     }
+    // milliseconds
+    public long            elapsed()     { return elapsed;                      }
+    // bytes
+    public long            memory()      { return memory;                       }
+    // nodes dropped to stay in -maxmem, 0 if it never had to
+    public long            forgotten()   { return forgotten;                    }
+    public Solver.Method   method()      { return method;                       }
+    // the heuristic actually used, PDB falls back to INT without its tables
+    public Board.Heuristic heuristic()   { return initial.heuristic();          }
+    public String          order()       { return initial.order();              }
+    public int             dimension()   { return initial.dimension();          }
+    public Board           initial()     { return initial;                      }
+    // every board along the way, starting with the initial one
+    public List<Board>     solution()    { return solution;                     }
+
+    // the moves of the blank as Board.UP, Board.RIGHT, etc
+    public int[] path() {
+        int[] path = new int[solved ? length : 0];
+        for (int i = 0; i < path.length; i++) {
+            int diff = solution.get(i).getZero() - solution.get(i + 1).getZero();
+            switch (diff) {
+               case  1: path[i] = Board.LEFT;  break;
+               case -1: path[i] = Board.RIGHT; break;
+               default: path[i] = diff > 0 ? Board.UP : Board.DOWN;
+            }
+        }
+        return path;
+    }
+
+    // this produce a list of moves to reach the goal state
+    public String solutionMoves() {
+        StringBuffer temp = new StringBuffer();
+        for (int dir: path())
+            switch (dir) {
+               case Board.LEFT:  temp.append("L "); break;
+               case Board.RIGHT: temp.append("R "); break;
+               case Board.UP:    temp.append("U "); break;
+               case Board.DOWN:  temp.append("D "); break;
+            }
+        temp.append("!");
+        return temp.toString();
+    }
+
+    // CSV output to generate figures... csv file header should be:
+    // id,method,heuristic,order,dim,moves,expanded,depth,time,memory
+    public String toCSV() {
+        StringBuffer temp = new StringBuffer();
+        temp.append(initial.hashCode());
+        temp.append(',');
+        temp.append(this.method.name());
+        temp.append(',');
+        if (this.method.isInformed())
+            temp.append(heuristic().name());
+        temp.append(',');
+        temp.append(order());
+        temp.append(',');
+        temp.append(dimension());
+        temp.append(',');
+        temp.append(this.length);
+        temp.append(',');
+        temp.append(this.expanded);
+        temp.append(',');
+        temp.append(this.maxDepth);
+        temp.append(',');
+        temp.append(this.elapsed);
+        temp.append(',');
+        temp.append(this.memory);
+        return temp.toString();
+    }
+
+    public String toString() {
+        StringBuffer temp = new StringBuffer();
+        temp.append("method:    ");
+        temp.append(this.method.name());
+        if (method.isInformed()) {
+            temp.append(", heuristic: ");
+            temp.append(heuristic().name());
+        }
+        temp.append(", order: ");
+        temp.append(order());
+        temp.append(", n: ");
+        temp.append(dimension());
+        temp.append(", solution moves: [ ");
+        temp.append(Solver.ANSI_BOLD + this.length + Solver.ANSI_RESET);
+        temp.append(" ]\n  nExpanded: ");
+        temp.append(this.expanded);
+        temp.append(", maxDepth: ");
+        temp.append(this.maxDepth);
+        temp.append(", elapsed: ");
+        temp.append(this.elapsed);
+        temp.append("ms, approxMem: ");
+        temp.append(this.memory/1024);
+        temp.append("kb");
+        if (forgotten > 0) {
+            temp.append(", forgotten: ");
+            temp.append(forgotten);
+        }
+        return temp.toString();
+    }
+}
@@ -0,0 +1,1491 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-09-15
+// Solver.java 
+/////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Deque;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.PrintStream;
+import java.lang.OutOfMemoryError;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+public class Solver {
+
+    
+        // instead of doing this with static variables
+        // i could implement a class to hold configuration info,
+        // but for just a few it isn't worth the time
+    private static boolean skipUnsolvable = true;
+    private static boolean showPrompt     = true;
+    private static boolean outputCSV      = false;
+    private static boolean outputMoves    = true;
+    private static boolean outputSolution = true;
+    private static boolean outputTotal    = false;
+    private static boolean outputSummary  = false;
+    private static int     threads        = 1;
+    private static boolean useHeap        = false;
+    private static boolean forceGC        = false;
+    private static boolean verify         = false;
+    // the engine options, copied into every request
+    private static int     tableSize      = 0;
+    private static int     frontierDepth  = ParallelIDA.FRONTIER_DEPTH;
+    private static int     workers        = Runtime.getRuntime().availableProcessors();
+    private static boolean prune          = true;
+    private static long    bfsBudget      = FrontierBFS.BUDGET;
+    private static boolean exhaustive     = false;
+    private static boolean layers         = false;
+    // -maxmem, bytes AST and ASP may hold before they go on as IDR, 0 for no limit.
+    // copied into every request like the engine options below
+    private static long    maxMemory      = 0;
+    // the most MB that still counts in bytes without overflowing a long
+    private static final long MAX_MB      = Long.MAX_VALUE >> 20;
+    // -cache and -cachefile, and how big the cache is with just a file
+    private static SolutionCache cache         = null;
+    private static File          cacheFile     = null;
+    private static final int     CACHE_ENTRIES = 100000;
+    // -binin and -binout
+    private static File                   binIn      = null;
+    private static File                   binOutFile = null;
+    private static BatchFile.ResultWriter binOut     = null;
+    // sort methods:
+    // AST - A* (regular)
+    // ASD - A* (no visited memory)
+    // IDA - IDA*
+    // IDR - IDA* (recursive, in-place)
+    // IDP - IDA* (parallel, in-place)
+    // BFS - Breadth-First
+    // DFS - Depth-First
+    // BDB - Breadth-First from both ends
+    // BDA - A* from both ends (MM)
+    // EPA - enhanced partial expansion A* (EPEA*)
+    // ASP - A* over packed records in a node arena
+    // HDA - A* (parallel, hash distributed)
+    // TBL - lookup in a table of every 3x3 distance
+    public enum Method {
+        AST, ASD, IDA, IDR, IDP, BFS, DFS, BDB, BDA, EPA, ASP, HDA, TBL;
+
+        // whether the search looks at the heuristic at all
+        public boolean isInformed() { return this != BFS && this != DFS && this != BDB && this != TBL; }
+    }
+
+    // statistics:
+    // 1. cost of path = moves
+    // 2. number of nodes expanded
+    // 3. maximum depth of queue
+    // 4. memory requirement
+    // 5. running time
+    public enum Stat {
+        COST, EXPANDED, DEPTH, TIME, MEMORY
+    }
+
+
+    // ANSI colors 
+    static final String ANSI_BOLD           = "\033[1m";   
+    private static final String ANSI_RED    = "\033[31m";   
+    static final String ANSI_RESET          = "\033[0;0m";
+    private static final boolean BEST       = true;
+    private static final boolean WORST      = false;
+
+    // rough object sizes for the memory estimate, for a 64 bit jvm with
+    // compressed pointers: 12 byte headers, 4 byte references, 8 byte padding
+    private static final int NODE_BYTES     = 32;  // moves, board, previous, method
+    private static final int BOARD_BYTES    = 32;  // game, state, zero, dist, inter
+    private static final int SLOT_BYTES     = 8;   // open list reference plus slack
+    private static final int ENTRY_BYTES    = 80;  // HashMap.Node + ByteBuffer + table slot
+    // how often memory is looked at, in expansions.  a power of 2
+    private static final int SAMPLE_EVERY   = 4096;
+    
+    private static class Stats {
+        public Stats() { this(true); }
+        public Stats(long cost, long expanded, long depth, long time, long memory) {
+            stats = new HashMap<Stat, Long>(5);
+            sortBest = true;
+            stats.put(Stat.COST,     cost    );
+            stats.put(Stat.EXPANDED, expanded);
+            stats.put(Stat.DEPTH,    depth   );
+            stats.put(Stat.TIME,     time    );
+            stats.put(Stat.MEMORY,   memory  );
+        }
+
+        public Stats(boolean sort) {
+            this.sortBest = sort;
+            stats = new HashMap<Stat, Long>(5);
+            if (sort == Solver.BEST) {
+                    // initial values high
+                stats.put(Stat.COST,     Long.MAX_VALUE);
+                stats.put(Stat.EXPANDED, Long.MAX_VALUE);
+                stats.put(Stat.DEPTH,    Long.MAX_VALUE);
+                stats.put(Stat.TIME,     Long.MAX_VALUE);
+                stats.put(Stat.MEMORY,   Long.MAX_VALUE);
+            } else {
+                    // initial values low
+                stats.put(Stat.COST,     -Long.MAX_VALUE);
+                stats.put(Stat.EXPANDED, -Long.MAX_VALUE);
+                stats.put(Stat.DEPTH,    -Long.MAX_VALUE);
+                stats.put(Stat.TIME,     -Long.MAX_VALUE);
+                stats.put(Stat.MEMORY,   -Long.MAX_VALUE);
+            }
+        }
+
+        public void update(Stat which, long value) {
+            Long prev = stats.get(which);
+            if (prev == null) return;
+            if (sortBest) {
+                if (value < prev.longValue())
+                    stats.put(which, value);
+            } else {
+                if (value > prev.longValue())
+                    stats.put(which, value);
+            }
+        }
+        
+        public void update(Stats obs) {
+            if (sortBest) {
+                for (Stat s: Solver.Stat.values()) 
+                    if (obs.recall(s) < stats.get(s)) stats.put(s, obs.recall(s));
+            } else {
+                for (Stat s: Solver.Stat.values())
+                    if (obs.recall(s) > stats.get(s)) stats.put(s, obs.recall(s));
+            }
+        }
+
+        public long recall(Stat which) {
+            Long value = stats.get(which);
+            if (value != null) return value.longValue();
+            return -1;
+        } 
+
+        boolean sortBest;
+        Map<Stat, Long> stats;
+    }
+
+    // everything collected while solving one input line: the text to
+    // print, the results for -binout, and the summary stats.  with -threads
+    // several lines are solved at once, so the output is held until it is
+    // that line's turn.
+    private static class Report {
+        public Report(boolean buffered, long board) {
+            this.board = board;
+            if (buffered) out = new StringBuffer();
+            if (Solver.binOut != null) results = new ArrayList<SolveResult>();
+            if (Solver.outputSummary) {
+                summary    = new MultiBuffer();
+                statistics = new HashMap<String, Stats>();
+                best       = new Stats(Solver.BEST);
+                worst      = new Stats(Solver.WORST);
+            }
+        }
+
+        public void println(Object line) {
+            if (out == null) System.out.println(line);
+            else             out.append(line).append('\n');
+        }
+
+        public void print(Object text) {
+            if (out == null) System.out.print(text);
+            else             out.append(text);
+        }
+
+        long               board;
+        StringBuffer       out;
+        List<SolveResult>  results;
+        MultiBuffer        summary;
+        Map<String, Stats> statistics;
+        Stats              best, worst;
+        long               total;
+    }
+
+
+    private class Node implements Comparable {
+        private int    moves;
+        private Board  board;
+        private Node   previous;
+        private Method method;
+
+        public Node(Board board, Node previous, Method method) {
+            this.board      = board;
+            this.previous   = previous;
+            if (previous != null)
+                 this.moves = previous.moves + 1;
+            else this.moves = 0;
+            this.method     = method;
+        }
+
+        public boolean isRegression(Board board) {
+            if (this.previous == null) return false;
+            switch(method) {
+                case ASD:  // dumb version of A* that doesn't track where its been
+                case IDA:  // and IDA: we only check that we're not the grand parent
+                    if (this.previous.board.equals(board)) return true;
+                    
+                    break;
+                default:   // everthing else uses a memory of prior locations.
+                    if (isVisited(board)) return true;
+                    break;
+            }
+            return false;
+        }
+
+        @Override
+        // Comparable interface
+        // this is the comparator that the priority queue uses to ascertain order
+        // minimum ordering of prior move count + heuristic distance
+        public int compareTo(Object that) {
+            if (that == null) throw new NullPointerException();
+            int thisCost = this.moves + this.board.distance();
+            int thatCost = ((Node)that).moves + ((Node)that).board.distance();
+            return thisCost - thatCost;
+        }
+
+        // method added for DFS and IDA - prune the solution tree so that nodes can be
+        // garbage collected when you reach a dead end and pop back up the stack
+        public void pruneTo(Node limit) {
+            if (this == limit) return;
+            if (this.previous != null && this.previous != limit) this.previous.pruneTo(limit);
+            this.previous = null;
+        }
+
+        public int   moves()   { return this.moves;    }
+        public Board board()   { return this.board;    }
+        public Node  next()    { return this.previous; }
+    }
+
+    private boolean             boardSolved; 
+    private long                numExpanded;
+    private long                maxDepth;
+    private long                maxMem;
+    private long                forgotten;
+    // the expansion at which AST next works out how close it is to -maxmem
+    private long                checkAt;
+    private long                elapsedTime;
+    private int                 packedWidth;
+    private Set<ByteBuffer>     visited;
+    private LongHashSet         packedVisited;
+    private RankedSet           rankedVisited;
+    private TranspositionTable  table;
+    private MovePruning         pruning;
+    // the neighbors of the node being expanded
+    private final Board[]       children = new Board[Board.DIRECTIONS];
+    private PriorityQueue<Node> boardPQ;
+    private BucketQueue<Node>   boardBQ;
+    private Deque<Node>         boardDQ;
+    private Node                fringe;
+    private Node                init;
+    private Method              method;
+    private boolean             skip;
+    private boolean             heap;
+    private boolean             measure;
+    private SolveRequest        request;
+    private long                memBefore;
+    private long                nodeBytes;
+
+    // put a game state onto the data structure.
+    // depending on the search type, it is treated as
+    // queue, stack, or priority queue
+    private void put(Node node) {
+        switch (this.method) {
+            case BFS:
+                boardDQ.addLast(node);
+                break;
+            case DFS:
+            case IDA:
+                boardDQ.addFirst(node);
+                break;
+            default:
+                if (heap) boardPQ.add(node);
+                else         boardBQ.add(node, node.moves + node.board.distance(), node.moves);
+                break;
+        }
+    } 
+    // retrieve the next game state from the structure
+    private Node get() {
+        switch (this.method) {
+            case DFS:
+            case BFS:
+            case IDA:
+                if (!boardDQ.isEmpty())
+                    return boardDQ.removeFirst();
+                return null;
+            default:
+                if (!heap)
+                    return boardBQ.remove();
+                if (!boardPQ.isEmpty())
+                    return (Node)boardPQ.remove();
+                return null;
+        }
+    }
+
+    private boolean isEmpty() {
+        switch (this.method) {
+            case BFS:
+            case DFS:
+            case IDA:
+                return boardDQ.isEmpty();
+            default:
+                return heap ? boardPQ.isEmpty() : boardBQ.isEmpty();
+        }
+    }
+
+    // memory of prior locations.
+    // ByteBuffer.wrap() doesn't copy the data - it just gives a
+    // primitive byte[] a Comparable interface so that the HashSet
+    // can find it
+    private boolean isVisited(Board board) {
+        if (rankedVisited != null) return rankedVisited.contains(board.getState());
+        switch (packedWidth) {
+            case 1:  return packedVisited.contains(board.pack());
+            case 2:  return packedVisited.contains(board.packHigh(), board.packLow());
+            default: return visited.contains(ByteBuffer.wrap(board.getState()));
+        }
+    }
+
+    private void markVisited(Board board) {
+        if (rankedVisited != null) { rankedVisited.add(board.getState()); return; }
+        switch (packedWidth) {
+            case 1:  packedVisited.add(board.pack());                      break;
+            case 2:  packedVisited.add(board.packHigh(), board.packLow()); break;
+            default: visited.add(ByteBuffer.wrap(board.getState()));      break;
+        }
+    }
+
+    private boolean usesVisited() {
+        return method == Method.AST || method == Method.BFS || method == Method.DFS;
+    }
+
+    // approximate bytes held by the search right now, worked out from the
+    // sizes of the open and closed lists instead of asking the gc.  DFS and
+    // IDA only keep the path back to the root besides the open nodes, the
+    // others may keep every expanded node as a parent of an open one
+    private long footprint() {
+        long open  = boardDQ.size() + boardPQ.size() + boardBQ.size();
+        long alive = open;
+        if (method == Method.DFS || method == Method.IDA)
+             alive += fringe == null ? 0 : fringe.moves;
+        else alive += numExpanded;
+        long closed = 0;
+        if (usesVisited())
+            closed = rankedVisited != null ? rankedVisited.bytes()
+                   : packedVisited != null ? packedVisited.bytes()
+                                           : (long)visited.size() * ENTRY_BYTES;
+        if (table != null) closed = table.bytes();
+        return alive * nodeBytes + open * SLOT_BYTES + closed;
+    }
+
+    // how many more A* expansions are sure to fit in the budget, 0 if the
+    // next one might not.  each one adds at most a node and an open slot
+    // per child, plus a closed entry.  a packed closed list that is about
+    // to double counts three times over, since the old table and the new
+    // one twice its size are both held while it copies
+    private long headroom(long budget) {
+        long per  = Board.DIRECTIONS * (nodeBytes + SLOT_BYTES) + (visited != null ? ENTRY_BYTES : 0);
+        long room = budget - footprint();
+        if (packedVisited != null) {
+            long untilGrow = packedVisited.capacity() - packedVisited.size();
+            if (untilGrow == 0) room -= 2 * packedVisited.bytes();
+            else                room  = Math.min(room, untilGrow * per);
+        }
+        return room < per ? 0 : room / per;
+    }
+
+    // with -gc the heap is measured instead, which is only meaningful
+    // right after a full collection
+    private void sampleMemory(long estimate) {
+        if (measure) {
+            Runtime runtime = Runtime.getRuntime();
+            estimate = runtime.totalMemory() - runtime.freeMemory() - memBefore;
+        }
+        if (estimate > maxMem) maxMem = estimate;
+    }
+
+    private void clearVisited() {
+        if      (rankedVisited != null) rankedVisited.clear();
+        else if (packedVisited != null) packedVisited.clear();
+        else                            visited.clear();
+    }
+
+    public long getElapsed() {
+        return this.elapsedTime;
+    }
+
+    // solve one puzzle from code, without printing anything
+    public static SolveResult solve(SolveRequest request) {
+        Board initial = request.board();
+        if (!initial.isValid()) throw new IllegalArgumentException("invalid board: " + request.puzzle());
+        initial = asSearched(initial, request.method());
+        SolutionCache cache = request.method() == Method.DFS ? null : request.cache();
+        if (cache != null) {
+            long start = System.currentTimeMillis();
+            int[] path = cache.get(initial);
+            if (path != null) {
+                SolveResult result = replay(initial, request.method(), path, start);
+                if (result != null) return result;
+            }
+        }
+        SolveResult result = new Solver(initial, request).result();
+        if (cache != null && result.isSolved()) cache.put(initial, result.path());
+        return result;
+    }
+
+    // a result for a cached solution, with nothing expanded.  null if
+    // the moves don't take the board to the goal
+    private static SolveResult replay(Board initial, Method method, int[] path, long start) {
+        ArrayList<Board> boards = new ArrayList<Board>(1 + path.length);
+        Board current = initial;
+        boards.add(current);
+        for (int dir: path) {
+            current = current.moveTo(dir);
+            if (current == null) return null;
+            boards.add(current);
+        }
+        if (!current.isGoal()) return null;
+        return new SolveResult(initial, method, true, boards, 0, 0,
+                               System.currentTimeMillis() - start, 0);
+    }
+
+    // BDA only uses manhattan distance, both ways, whatever heuristic was
+    // asked for, so its board says MAN and so does the result.  boards too
+    // big for it go to AST, which does use the one asked for
+    private static Board asSearched(Board initial, Method method) {
+        if (method != Method.BDA || initial.packedWidth() == 0 ||
+            initial.heuristic() == Board.Heuristic.MAN) return initial;
+        return new Board(BatchFile.toLine(initial.getState()), Board.Heuristic.MAN,
+                         initial.game().order());
+    }
+
+    public Solver(Board initial, Method method) {
+        this(initial, request(BatchFile.toLine(initial.getState()), method, initial.heuristic()));
+    }
+
+    // the board is already made, so only the method and the options
+    // are taken from the request
+    private Solver(Board initial, SolveRequest request) {
+        if (initial == null) throw new NullPointerException();
+        Method method    = request.method();
+        initial          = asSearched(initial, method);
+        this.request     = request;
+        this.skip        = request.skipUnsolvable();
+        this.heap        = request.useHeap();
+        this.measure     = request.forceGC();
+        if (measure) {
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            memBefore    = runtime.totalMemory() - runtime.freeMemory();
+        }
+        int cells        = initial.getState().length;
+        nodeBytes        = NODE_BYTES + BOARD_BYTES + ((16 + cells + 7) & ~7);
+        this.method      = method;
+        boardSolved      = false;
+        numExpanded      = 0;
+        maxDepth         = 0;
+        maxMem           = 0;
+        int currentDepth = 0;
+        long endTime     = 0;
+        long startTime   = System.currentTimeMillis();
+        init             = new Node(initial, null, this.method);
+        // tried a Fibonacci Heap - not any faster/smaller than JDK8 PQ.
+        // f values are small integers though, so by default A* uses
+        // buckets instead, which are O(1) both ways
+        boardPQ          = new PriorityQueue<Node>();
+        boardBQ          = new BucketQueue<Node>();
+        boardDQ          = new ArrayDeque<Node>();
+        packedWidth      = initial.packedWidth();
+        int childrenAdded;
+        int maxCost = initial.distance();
+        // popping the root empties the stack, which starts the first
+        // iteration over again at the same limit
+        int nextDepth = maxCost;
+        int absoluteMaxDFS = Integer.MAX_VALUE;
+        // if DFS crashes, consider upping these values
+        // making them too high makes DFS really stupid
+        // and find terrible solutions
+        switch (initial.dimension()) {
+            case 3: absoluteMaxDFS = 50;  break;
+            case 4: absoluteMaxDFS = 100; break;
+            case 5: absoluteMaxDFS = 150; break;
+        }
+        // an experiment that didn't work well
+        //currentDepth = (int)Math.sqrt(absoluteMaxDFS);
+
+        if (skip && !initial.isSolvable()) {
+            fringe = init;
+            return;
+        }
+        if (method == Method.IDR || method == Method.IDP) {
+            solveInPlace(initial, absoluteMaxDFS);
+            this.elapsedTime = System.currentTimeMillis() - startTime;
+            return;
+        }
+        // BFS up to 4x4 goes layer by layer without a closed list
+        if (method == Method.BFS && FrontierBFS.fits(initial)) {
+            solveLayers(initial);
+            this.elapsedTime = System.currentTimeMillis() - startTime;
+            return;
+        }
+        // the bidirectional searches need packed boards, bigger
+        // ones get the one way version instead
+        if (method == Method.BDB || method == Method.BDA) {
+            if (packedWidth > 0) {
+                solveBidirectional(initial);
+                this.elapsedTime = System.currentTimeMillis() - startTime;
+                return;
+            }
+            method = this.method = (method == Method.BDB) ? Method.BFS : Method.AST;
+            init   = new Node(initial, null, method);
+        }
+        // up to 3x3 every distance is known, bigger boards get IDR
+        if (method == Method.TBL) {
+            DistanceTable distances = DistanceTable.forDimension(initial.dimension());
+            if (distances != null) {
+                solveTable(initial, distances);
+                this.elapsedTime = System.currentTimeMillis() - startTime;
+                return;
+            }
+            this.method = Method.IDR;
+            init        = new Node(initial, null, this.method);
+            solveInPlace(initial, absoluteMaxDFS);
+            this.elapsedTime = System.currentTimeMillis() - startTime;
+            return;
+        }
+        // so does partial expansion
+        if (method == Method.EPA) {
+            if (packedWidth > 0) {
+                solvePartial(initial);
+                this.elapsedTime = System.currentTimeMillis() - startTime;
+                return;
+            }
+            method = this.method = Method.AST;
+            init   = new Node(initial, null, method);
+        }
+        // and the arena
+        if (method == Method.ASP) {
+            if (packedWidth > 0) {
+                solveArena(initial, absoluteMaxDFS);
+                this.elapsedTime = System.currentTimeMillis() - startTime;
+                return;
+            }
+            method = this.method = Method.AST;
+            init   = new Node(initial, null, method);
+        }
+        // and the parallel one
+        if (method == Method.HDA) {
+            if (packedWidth > 0) {
+                solveHashed(initial);
+                this.elapsedTime = System.currentTimeMillis() - startTime;
+                return;
+            }
+            method = this.method = Method.AST;
+            init   = new Node(initial, null, method);
+        }
+//////////////////////////////////////////////////////////////////////////////////////
+//  Use various packages for the hashset
+        // 3x3 and smaller get a bit for every board in a fixed bitset.
+        // boards up to 5x5 pack into one or two longs, which go in
+        // an open addressing set.  bigger ones fall back to ByteBuffers.
+        // made here, after the searches that don't need one have gone
+        if (RankedSet.fits(initial.getState().length))
+            rankedVisited = new RankedSet(initial.getState().length);
+        else if (packedWidth > 0)
+            packedVisited = new LongHashSet(packedWidth);
+        else
+        visited          = new HashSet<ByteBuffer>();  // default jdk
+//        visited          = new TreeSet<ByteBuffer>();  // jdk treeSet over 2x slower
+//        visited          = new THashSet<ByteBuffer>();  // gnu trove - less memory ovh.
+//        visited          = new ObjectOpenHashSet<ByteBuffer>();  // fastutil
+//////////////////////////////////////////////////////////////////////////////////////        
+        if (method == Method.IDA) {
+            currentDepth = maxCost;
+            // with -tt, IDA skips states already reached more cheaply
+            // in the same iteration instead of only its grand parent
+            table = TranspositionTable.forBoard(initial, request.tableSize());
+            if (table != null) table.visit(initial, 0);
+        }
+        // the tree searches don't make moves that finish a redundant
+        // sequence.  the table keeps the pruning state of each entry
+        if (method == Method.IDA || method == Method.ASD)
+            pruning = movePruning(initial);
+        this.put(init);
+        
+        if (method != Method.IDA && method != Method.ASD && method != Method.AST) markVisited(init.board);
+
+        // the main loop
+        while (!boardSolved && !this.isEmpty()) {
+            if (boardDQ.size() > maxDepth) 
+                maxDepth = boardDQ.size();
+            if (boardPQ.size() > maxDepth) {
+                maxDepth = boardPQ.size();
+            }
+            if (boardBQ.size() > maxDepth) 
+                maxDepth = boardBQ.size();
+
+            // expand the next fringe node
+            // and see if it won!
+            fringe = this.get();
+            // A* closes a state when it is expanded rather than when it is
+            // generated, so that a cheaper path to it found later still
+            // counts (the bucket queue's deepest-first tie breaking makes
+            // that much more likely).  copies left on the open list are
+            // skipped here
+            if (method == Method.AST) {
+                if (isVisited(fringe.board)) continue;
+                markVisited(fringe.board);
+            }
+            numExpanded++;
+            if ((numExpanded & (SAMPLE_EVERY - 1)) == 0) sampleMemory(footprint());
+            // the budget is only worked out again once the expansions it
+            // had room for are used up, so this is one compare a node
+            if (method == Method.AST && request.maxMemory() > 0 && numExpanded >= checkAt) {
+                checkAt = numExpanded + headroom(request.maxMemory());
+                if (checkAt == numExpanded) {
+                    sampleMemory(footprint());
+                    // this node came off the open list first, so its f is the lowest
+                    long held  = numExpanded + (heap ? boardPQ.size() : boardBQ.size());
+                    int  bound = fringe.moves + fringe.board.distance();
+                    boardPQ       = new PriorityQueue<Node>();
+                    boardBQ       = new BucketQueue<Node>();
+                    rankedVisited = null;
+                    packedVisited = null;
+                    visited       = null;
+                    handOff(initial, absoluteMaxDFS, bound, held);
+                    this.elapsedTime = System.currentTimeMillis() - startTime;
+                    return;
+                }
+            }
+            if (fringe.board.isGoal()) {
+                boardSolved = true; 
+                continue; 
+            }
+
+            // handle iterative deepening and add current to visited set
+            switch(this.method) {
+                case ASD: break; // do nothing at all
+                case IDA:
+                    // we have reached this depth limit, reset and start anew
+                    if (this.isEmpty() && 
+                        currentDepth < absoluteMaxDFS) {
+                             this.put(init);
+                             currentDepth = maxCost;
+                             // the limit above comes from the last node expanded,
+                             // which the table or the move pruning can change, so
+                             // with either the next limit is the lowest cost that
+                             // went over instead
+                             if (table != null || pruning != null) {
+                                 currentDepth = nextDepth;
+                                 nextDepth    = Integer.MAX_VALUE;
+                             }
+                             if (table != null) {
+                                 table.nextIteration();
+                                 table.visit(initial, 0);
+                             }
+                    }
+                    maxCost = 0;
+                    break;
+                case DFS:
+                    // we have reached the end of the current depth possibilities,
+                    // increase depth, reset visited for a new exploration
+                    if (this.isEmpty() && 
+                        currentDepth < absoluteMaxDFS) {
+                            this.put(init);
+                            clearVisited();
+                            currentDepth = currentDepth + 1;
+                    }
+                default: // all methods except IDA
+            //        visited.add(ByteBuffer.wrap(fringe.board.getState()));
+
+            }
+
+            // put the good children on the queue / stack
+            childrenAdded = 0;
+            int count = 0;
+            if(method != Method.DFS || fringe.moves <= currentDepth)
+                count = fringe.board().neighbors(children, pruning);
+            for (int c = 0; c < count; c++) {
+                Board b = children[c];
+                if (!fringe.isRegression(b)) {
+                    if (method == Method.IDA && 
+                        (b.distance() + fringe.moves > maxCost))
+                            maxCost = b.distance() + fringe.moves;
+                    if (method == Method.IDA &&
+                        b.distance() + fringe.moves > currentDepth &&
+                        b.distance() + fringe.moves < nextDepth)
+                            nextDepth = b.distance() + fringe.moves;
+                    if (method != Method.IDA || 
+                        (b.distance() + fringe.moves <= currentDepth &&
+                         (table == null || table.visit(b, fringe.moves + 1)))) {
+                            this.put(new Node(b, fringe, this.method));
+                            if(method != Method.IDA && method != Method.ASD && method != Method.AST) markVisited(b);
+                            childrenAdded++;
+                    }
+                }
+            }
+
+            // for stack based algorithms, prune the now exhausted branch
+            if ((method == Method.DFS  ||
+                 method == Method.IDA) && 
+                 childrenAdded == 0) 
+                     fringe.pruneTo(boardDQ.peekFirst().previous);
+
+        }
+        endTime = System.currentTimeMillis();
+        this.elapsedTime = endTime - startTime;
+        sampleMemory(footprint());
+    }
+    // hand the search over to the in-place engine, then rebuild
+    // a chain of nodes from its move stack so solution() works as usual
+    private void solveInPlace(Board initial, int absoluteMax) {
+        int moves = 0;
+        byte[] path;
+        if (method == Method.IDP) {
+            ParallelIDA engine = new ParallelIDA(initial, absoluteMax, request.frontierDepth(),
+                                                 movePruning(initial));
+            boardSolved = engine.search();
+            numExpanded = engine.numExpanded();
+            maxDepth    = engine.maxDepth();
+            sampleMemory(engine.bytes());
+            if (boardSolved) moves = engine.moves();
+            path = new byte[moves];
+            for (int i = 0; i < moves; i++) path[i] = (byte)engine.move(i);
+        } else {
+            IDAEngine engine = new IDAEngine(initial, absoluteMax, movePruning(initial));
+            engine.useTable(TranspositionTable.forBoard(initial, request.tableSize()));
+            boardSolved = engine.search();
+            numExpanded = engine.numExpanded();
+            maxDepth    = engine.maxDepth();
+            sampleMemory(engine.bytes());
+            if (boardSolved) moves = engine.moves();
+            path = new byte[moves];
+            for (int i = 0; i < moves; i++) path[i] = (byte)engine.move(i);
+        }
+        replay(path);
+    }
+
+    // the move pruning automaton, unless the request turned it off
+    private MovePruning movePruning(Board initial) {
+        return request.pruning() ? MovePruning.forDimension(initial.dimension()) : null;
+    }
+
+    private void solveBidirectional(Board initial) {
+        Bidirectional engine = new Bidirectional(initial, method);
+        boardSolved = engine.search();
+        numExpanded = engine.numExpanded();
+        maxDepth    = engine.maxDepth();
+        sampleMemory(engine.bytes());
+        byte[] path = new byte[boardSolved ? engine.moves() : 0];
+        for (int i = 0; i < path.length; i++) path[i] = (byte)engine.move(i);
+        replay(path);
+    }
+
+    // no search, just step to a neighbor one move closer every time
+    private void solveTable(Board initial, DistanceTable distances) {
+        Board[] path = distances.solve(initial);
+        fringe = init;
+        boardSolved = path != null;
+        if (!boardSolved) return;
+        for (int i = 1; i < path.length; i++)
+            fringe = new Node(path[i], fringe, this.method);
+        numExpanded = path.length - 1;
+        maxDepth    = 0;
+        sampleMemory(distances.bytes());
+    }
+
+    private void solvePartial(Board initial) {
+        PartialExpansion engine = new PartialExpansion(initial);
+        boardSolved = engine.search();
+        numExpanded = engine.numExpanded();
+        maxDepth    = engine.maxDepth();
+        sampleMemory(engine.bytes());
+        byte[] path = new byte[boardSolved ? engine.moves() : 0];
+        for (int i = 0; i < path.length; i++) path[i] = (byte)engine.move(i);
+        replay(path);
+    }
+
+    private void solveArena(Board initial, int absoluteMax) {
+        ArenaSearch engine = new ArenaSearch(initial);
+        engine.setBudget(request.maxMemory());
+        boardSolved = engine.search();
+        numExpanded = engine.numExpanded();
+        maxDepth    = engine.maxDepth();
+        sampleMemory(engine.bytes());
+        if (engine.bound() >= 0) {
+            int  bound = engine.bound();
+            long held  = engine.nodes();
+            engine     = null;
+            handOff(initial, absoluteMax, bound, held);
+            return;
+        }
+        byte[] path = new byte[boardSolved ? engine.moves() : 0];
+        for (int i = 0; i < path.length; i++) path[i] = (byte)engine.move(i);
+        replay(path);
+    }
+
+    private void solveHashed(Board initial) {
+        ParallelAStar engine = new ParallelAStar(initial, request.workers());
+        boardSolved = engine.search();
+        numExpanded = engine.numExpanded();
+        maxDepth    = engine.maxDepth();
+        sampleMemory(engine.bytes());
+        byte[] path = new byte[boardSolved ? engine.moves() : 0];
+        for (int i = 0; i < path.length; i++) path[i] = (byte)engine.move(i);
+        replay(path);
+    }
+
+    // over -maxmem: every node A* held is let go and IDR carries on from
+    // the lowest f that was still open.  no solution is cheaper than that,
+    // so the one IDR finds is still optimal, and it skips the thresholds
+    // A* already went through
+    private void handOff(Board initial, int absoluteMax, int bound, long held) {
+        forgotten = held;
+        IDAEngine engine = new IDAEngine(initial, absoluteMax, movePruning(initial));
+        engine.useTable(TranspositionTable.forBoard(initial, request.tableSize()));
+        boardSolved  = engine.search(bound);
+        numExpanded += engine.numExpanded();
+        sampleMemory(engine.bytes());
+        byte[] path = new byte[boardSolved ? engine.moves() : 0];
+        for (int i = 0; i < path.length; i++) path[i] = (byte)engine.move(i);
+        replay(path);
+    }
+
+    private void solveLayers(Board initial) {
+        FrontierBFS engine = new FrontierBFS(initial, request.bfsBudget(), request.exhaustive(),
+                                             request.progress());
+        boardSolved = engine.search();
+        numExpanded = engine.numExpanded();
+        maxDepth    = engine.maxDepth();
+        sampleMemory(engine.bytes());
+        byte[] path = new byte[boardSolved ? engine.moves() : 0];
+        for (int i = 0; i < path.length; i++) path[i] = (byte)engine.move(i);
+        replay(path);
+    }
+
+    // rebuild a chain of nodes from a list of moves so solution() works as usual
+    private void replay(byte[] path) {
+        fringe = init;
+        for (int i = 0; i < path.length; i++)
+            fringe = new Node(fringe.board().moveTo(path[i]), fringe, this.method);
+    }
+
+    // the statistics and the boards from the initial one to
+    // wherever the search ended up
+    public SolveResult result() {
+        ArrayList<Board> boards = new ArrayList<Board>(1 + fringe.moves());
+        for (Board b: this.solution()) boards.add(b);
+        return new SolveResult(init.board, method, boardSolved, boards,
+                               numExpanded, maxDepth, elapsedTime, maxMem, forgotten);
+    }
+
+    // this produce a list of moves to reach the goal state
+    public String solutionMoves() { return result().solutionMoves(); }
+    public String toCSV()         { return result().toCSV();         }
+    public String toString()      { return result().toString();      }
+
+    private static String summaryOf(String method, Stats stats, Report report) {
+
+        StringBuffer temp = new StringBuffer();
+        temp.append(method);
+        //if (method != Method.BFS && method != Method.DFS) 
+        //    temp.append("-" + this.fringe.board.heuristic().name());
+        temp.append("\n  cost:        ");
+        long cost = stats.recall(Stat.COST);
+        if (cost == report.best.recall(Stat.COST))
+            temp.append(ANSI_BOLD);
+        if (cost == report.worst.recall(Stat.COST))
+            temp.append(ANSI_RED); 
+        temp.append(cost + ANSI_RESET);
+        temp.append("\n  numExpanded: ");
+        long numExpanded = stats.recall(Stat.EXPANDED);
+        if (numExpanded == report.best.recall(Stat.EXPANDED))
+            temp.append(ANSI_BOLD);
+        if (numExpanded == report.worst.recall(Stat.EXPANDED))
+            temp.append(ANSI_RED); 
+        temp.append(numExpanded + ANSI_RESET);
+        temp.append("\n  maxDepth:    ");
+        long maxDepth = stats.recall(Stat.DEPTH);
+        if (maxDepth == report.best.recall(Stat.DEPTH))
+            temp.append(ANSI_BOLD);
+        if (maxDepth == report.worst.recall(Stat.DEPTH))
+            temp.append(ANSI_RED); 
+        temp.append(maxDepth + ANSI_RESET);
+        temp.append("\n  elapsedTime: ");
+        long elapsedTime = stats.recall(Stat.TIME);
+        if (elapsedTime == report.best.recall(Stat.TIME))
+            temp.append(ANSI_BOLD);
+        if (elapsedTime == report.worst.recall(Stat.TIME))
+            temp.append(ANSI_RED); 
+        temp.append(elapsedTime);
+        temp.append("ms"+ANSI_RESET+"\n  approxMem:   ");
+        long maxMem = stats.recall(Stat.MEMORY);
+        if (maxMem == report.best.recall(Stat.MEMORY))
+            temp.append(ANSI_BOLD);
+        if (maxMem == report.worst.recall(Stat.MEMORY))
+            temp.append(ANSI_RED); 
+        temp.append(maxMem/1024);
+        // pad for nice even columns
+        temp.append("kb"+ANSI_RESET+"  \n                          ");
+        return temp.toString();
+    }
+    
+    public boolean isSolvable() { return boardSolved; }
+
+    public int moves() { return this.isSolvable() ? fringe.moves() : -1; }
+
+    public Iterable<Board> solution() {
+        // i removed this during testing so that i could watch partial solutions as they
+        // grow, but there is no harm now in re-enabling this check
+        //if (!isSolvable()) return null;
+        return new Iterable<Board>() {
+            @Override
+            public Iterator<Board> iterator() {
+                final ArrayDeque<Board> stack = new ArrayDeque<Board>(1 + fringe.moves());
+                Node current = fringe;
+                while (current != null) {
+                    stack.addFirst(current.board());
+                    current = current.next();
+                }
+                return stack.iterator();
+            }
+        };
+    }
+    public static void displayHelp() {
+
+        System.out.println("Sliding Puzzle Solver");
+        System.out.println("Robert Wagner CISC 3410");
+        System.out.println();
+        System.out.println("USEAGE:");
+        System.out.println("    java -jar Solver.jar [options] [input filename]");
+        System.out.println();
+        System.out.println("The default solver is IDA* with Manhattan + Interference heuristic (IDA, INT)");
+        System.out.println("In Up, Right, Left, Down order (URLD)");
+        System.out.println();
+        System.out.println("From the command line the following options are available:");
+        System.out.println();
+        System.out.println("Output options:");
+        System.out.println(" -csv     : Output in comma-separated values format.");
+        System.out.println(" -nosol   : Suppress output of solution sequences.");
+        System.out.println(" -noskip  : Try to solve unsolvable puzzles.");
+        System.out.println(" -nomove  : Suppress output of board move diagrams.");
+        System.out.println(" -total   : Show total execution time of batches.");
+        System.out.println(" -summary : Display a summary of comparison statistics at the end of each puzzle.");
+        System.out.println(" -threads N : Solve N puzzles from an input file at once (output stays in order).");
+        System.out.println(" -heap    : Use a binary heap for the A* open list instead of f buckets.");
+        System.out.println(" -cache N : Remember the solutions of the last N boards (and their mirror images).");
+        System.out.println(" -cachefile F : Load the solution cache from F if it exists, and save it there at the end.");
+        System.out.println(" -binin F : Read the boards from F, a binary batch file (see BatchFile for converting).");
+        System.out.println(" -binout F : Write the results to F as binary records instead of printing them;");
+        System.out.println("            the solutions are included unless -nosol or -csv is given.");
+        System.out.println(" -gc      : Force a garbage collection before each solve and measure memory");
+        System.out.println("            from the heap instead of estimating it (slow).");
+        System.out.println(" -help    : Show this help message.");
+        System.out.println(" -genpdb  : Generate the pattern database files for 3x3 and 4x4, and the");
+        System.out.println("            table of 3x3 distances, and exit.");
+        System.out.println(" -verify  : Check the cost of every 3x3 solution against the table of distances.");
+        System.out.println();
+        System.out.println("Algorithm options (In order from least to most efficient):");
+        System.out.println(" -all : attempt to use all known algorithms");
+        System.out.println();
+        System.out.println(" -bfs : BFS (breadth - first search)  [ uninformed, guaranteed optimal solutions.   ]");
+        System.out.println("        -layers    : print the number of states in each BFS layer as it finishes");
+        System.out.println("        -exhaust   : keep going past the goal to count the whole space");
+        System.out.println("        -bfsmem N  : MB of heap for BFS layers before they go to disk (default 256)");
+        System.out.println(" -dfs : DFS (depth - first search)    [ uninformed, non-optimal solutions possible. ]");
+        System.out.println(" -asd : A* (dumb version)             [ informed, no prior knowledge, optimal.      ]");
+        System.out.println(" -ast : A* (standard version)         [ informed, uses prior knowledge, optimal.    ]");
+        System.out.println(" -epa : A* (partial expansion, EPEA*) [ same as AST, children made only when due.   ]");
+        System.out.println(" -asp : A* (packed node arena)        [ same as AST, nodes are records, not objects.]");
+        System.out.println("        -maxmem N  : MB AST and ASP may hold before they forget it all and go on as IDR");
+        System.out.println(" -hda : A* (parallel, by hash)        [ same cost as AST, boards split over cores.  ]");
+        System.out.println("        -workers N : threads HDA splits a puzzle over (default one per core)");
+        System.out.println(" -ida : IDA* (Iterative Deepening A*) [ informed, no prior knowledge, optimal.      ]");
+        System.out.println(" -idr : IDA* (recursive, in-place)    [ same as IDA without per-node allocation.   ]");
+        System.out.println("        -tt N      : MB for a table of states IDA and IDR have already searched");
+        System.out.println("                     (saves few nodes on top of move pruning, so usually slower)");
+        System.out.println("        -noprune   : only rule out going straight back, not longer redundant moves");
+        System.out.println(" -idp : IDA* (parallel, in-place)     [ same as IDR, subtrees shared over cores.    ]");
+        System.out.println("        -frontier N : depth at which IDP hands out subtrees (default 8)");
+        System.out.println(" -tbl : Table of every 3x3 distance   [ exact, no search, IDR for bigger boards.    ]");
+        System.out.println(" -bdb : BFS from both ends            [ uninformed, optimal, up to 5x5.             ]");
+        System.out.println(" -bda : A* from both ends (MM)        [ manhattan both ways, optimal, up to 5x5.    ]");
+        System.out.println();
+        System.out.println("Heuristic options for A* searches (In order from least to most efficient);");
+        System.out.println(" -ham : Hamming distance              [ naively counts out-of-place cells..         ]");
+        System.out.println(" -man : Manhattan distance            [ discrete sum of x and y offsets.            ]");
+        System.out.println(" -int : Manhattan + Interference dist.[ same as MAN plus obstacle detours           ]");
+        System.out.println(" -wd  : Walking distance              [ tiles in each row and column, to 4x4.      ]");
+        System.out.println(" -pdb : Additive pattern databases    [ 3x3 and 4x4 only, 6-6-3 partition on 4x4   ]");
+        System.out.println();
+        System.out.println("Fringe exploration order options:");
+        System.out.println(" --URLD, --DRUL, etc...  any permutation of the directions following '--'");
+    }
+
+
+    // write the pattern database files to the current directory
+    private static void generatePatternDBs() {
+        for (int dim = 3; dim <= 4; dim++) {
+            int[][] groups = PatternDB.partitionFor(dim);
+            File    file   = new File(PatternDB.fileName(dim, groups));
+            System.out.println("Generating " + file + "...");
+            long start = System.currentTimeMillis();
+            try {
+                PatternDB.generate(dim, groups).save(file);
+            } catch (IOException e) {
+                System.out.println("  failed: " + e.getMessage());
+                System.exit(1);
+            }
+            System.out.println("  done in " + (System.currentTimeMillis() - start) + "ms, " +
+                               file.length()/1024 + "kb");
+        }
+        File file = new File(DistanceTable.fileName(3));
+        System.out.println("Generating " + file + "...");
+        long start = System.currentTimeMillis();
+        try {
+            DistanceTable.generate(3).save(file);
+        } catch (IOException e) {
+            System.out.println("  failed: " + e.getMessage());
+            System.exit(1);
+        }
+        System.out.println("  done in " + (System.currentTimeMillis() - start) + "ms, " +
+                           file.length()/1024 + "kb");
+    }
+
+    private static void solve(SolveRequest request, Report report) {
+                Method      method = request.method();
+                SolveResult result;
+                if (Solver.layers) request.setProgress(layers(report));
+                try {
+                        result = Solver.solve(request);
+                } catch (OutOfMemoryError e) {
+                    if (Solver.showPrompt || !Solver.outputCSV) 
+                        report.println("  method:   "+method.name() + " failed, out of memory.");
+                    else report.println("# Out of memory: " + method.name());  
+                    return;
+                }
+                if (Solver.outputSummary){
+                    Stats s = new Stats(result.cost(),
+                                        result.expanded(),
+                                        result.maxDepth(),
+                                        result.elapsed(),
+                                        result.memory());
+                    report.best.update(s);
+                    report.worst.update(s);
+                    String key;
+                    if (!method.isInformed())
+                        key = method.name();
+                    else key = method.name() + "-" + result.heuristic().name();
+                    report.statistics.put(key,s);
+                }
+                if (Solver.outputTotal) report.total = report.total + result.elapsed();
+                if (Solver.verify) verify(result, report);
+                if (report.results != null) {
+                    report.results.add(result);
+                    return;
+                }
+                if (Solver.outputCSV) report.println(result.toCSV());
+                else                  report.println("  " + result);
+                if (Solver.outputSolution) {
+                    if (!result.isSolved())
+                         report.println("  No Obvious Solution.  use -noskip option to try anyway.");
+                    else report.println("  solution:  " + result.solutionMoves());
+                }
+                if (Solver.outputMoves && result.isSolved()) {
+                    MultiBuffer mb = new MultiBuffer();
+                    report.println("");
+                    String moves = result.solutionMoves();
+                    int i = 0;
+                    for (Board b: result.solution()) {
+                        mb.add(b.toString());
+                        mb.add("\n " + moves.charAt(2*i) + "->\n");
+                        i++;
+                    }
+                    mb.add("\n"+ANSI_BOLD+" WIN!"+ANSI_RESET);
+                    report.print(mb);
+                }
+    } 
+
+    // -layers: each BFS layer goes in the line's report with the rest of its
+    // output, so with -threads it still comes out in order.  tagged with
+    // the board's number in the input, as a comment with -csv
+    private static FrontierBFS.Progress layers(final Report report) {
+        return new FrontierBFS.Progress() {
+            public void layer(int depth, int states, boolean onDisk) {
+                report.println((Solver.outputCSV ? "# " : "  ") + "board " + report.board +
+                               ", layer " + depth + ": " + states + " states" +
+                               (onDisk ? " (on disk)" : ""));
+            }
+        };
+    }
+
+    // -verify: check an optimal method's cost against the 3x3 table
+    private static void verify(SolveResult result, Report report) {
+        DistanceTable distances = DistanceTable.forDimension(result.dimension());
+        if (distances == null || !result.isSolved() || result.method() == Method.DFS) return;
+        int optimal = distances.distance(result.initial().getState());
+        if (result.cost() != optimal)
+            report.println("# " + result.method().name() + " found " + result.cost() +
+                           " moves, the optimal is " + optimal);
+    }
+
+    // wait for a line to be solved, print it, and return its time
+    private static long printReport(Future<Report> result) {
+        try {
+            Report report = result.get();
+            System.out.print(report.out);
+            writeResults(report);
+            return report.total;
+        } catch (InterruptedException | ExecutionException e) {
+            System.out.println("# Failed: " + e.getCause());
+            return 0;
+        }
+    }
+
+    // the records of a line for -binout, in input order
+    private static void writeResults(Report report) {
+        if (report.results == null) return;
+        try {
+            for (SolveResult r: report.results) binOut.write(report.board, r);
+        } catch (IOException e) {
+            System.out.println("# Failed to write " + binOutFile + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // the command line switches as a request
+    private static SolveRequest request(String line, Method method, Board.Heuristic heuristic) {
+        SolveRequest request = new SolveRequest(line, method, heuristic);
+        request.setSkipUnsolvable(Solver.skipUnsolvable);
+        request.setUseHeap(Solver.useHeap);
+        request.setForceGC(Solver.forceGC);
+        request.setCache(Solver.cache);
+        request.setMaxMemory(Solver.maxMemory);
+        request.setTableSize(Solver.tableSize);
+        request.setFrontierDepth(Solver.frontierDepth);
+        request.setWorkers(Solver.workers);
+        request.setPruning(Solver.prune);
+        request.setBfsBudget(Solver.bfsBudget);
+        request.setExhaustive(Solver.exhaustive);
+        return request;
+    }
+
+    // solve one line of input in every method asked for
+    private static Report solveLine(String line, Set<Method> useMethods,
+                                    Set<Board.Heuristic> useHeuristics, Report report) {
+        if (!showPrompt && !outputCSV && binOut == null) report.println("[ " + line + " ]");
+        Board initial = new Board(line, Board.Heuristic.INT);
+        if (initial == null || !initial.isValid()) {
+            if (showPrompt || !outputCSV) 
+                report.println("  Board is not valid, skipping.");
+                return report;
+        }
+        if (!Solver.skipUnsolvable && !initial.isSolvable()) 
+            if (showPrompt || !outputCSV) {
+                report.println("  Board is not solvable, skipping.  use -noskip option to try anyway.");
+                return report;
+            }
+      // solve the puzzle in each method
+        for (Method method:  useMethods) {
+           switch(method) {
+               case BFS:
+               case DFS:
+               case BDB:
+               case TBL:
+                   solve(request(line, method, Board.Heuristic.INT), report);
+                   break;
+               case BDA:
+                   solve(request(line, method, Board.Heuristic.MAN), report);
+                   break;
+               default:
+                   for (Board.Heuristic heuristic: useHeuristics)
+                       solve(request(line, method, heuristic), report);
+           }
+        }
+        if (outputSummary) {
+            report.println("SUMMARY - Best results are " +
+                           ANSI_BOLD + "BOLD" + ANSI_RESET + 
+                           ", and worst results are " +
+                           ANSI_RED + "RED" + ANSI_RESET);
+            for (Map.Entry<String, Stats> e: report.statistics.entrySet()) 
+                report.summary.add(Solver.summaryOf(e.getKey(), e.getValue(), report));
+            report.println(report.summary.toString());
+        }
+        return report;
+    }
+
+    public static void main(String ... args) {
+        boolean              finished      = false;
+        boolean              generatePDB   = false;
+        final Set<Method>          useMethods    = new LinkedHashSet<Method>();
+        final Set<Board.Heuristic> useHeuristics = new LinkedHashSet<Board.Heuristic>();
+        LineReader           in            = new LineReader(System.in);
+        if (args.length > 0) {
+            for (int a = 0; a < args.length; a++) {
+                String arg = args[a];
+                if (arg.charAt(0) == '-') {
+                    if (arg.length() == 6 && arg.charAt(1) == '-') {
+                        if (!Board.setOrder(arg.substring(2))) {
+                            System.out.println("Invalid order " + arg.substring(2));
+                            System.exit(1);
+                        }
+                    }
+                    else
+                    switch(arg.substring(1).toUpperCase()) {
+                        case "ALL"     : useMethods.add(Method.BFS);
+                                         useMethods.add(Method.DFS);
+                                         useMethods.add(Method.ASD);
+                                         useMethods.add(Method.AST);
+                                         useMethods.add(Method.IDA);
+                                         useMethods.add(Method.IDR);
+                                         useMethods.add(Method.BDB);
+                                         useMethods.add(Method.BDA);
+                                         useMethods.add(Method.EPA);
+                                         useMethods.add(Method.ASP);
+                                         useHeuristics.add(Board.Heuristic.HAM);
+                                         useHeuristics.add(Board.Heuristic.MAN);
+                                         useHeuristics.add(Board.Heuristic.INT);
+                                         break;
+                        case "HELP"    : displayHelp(); System.exit(0); break;
+                        case "GENPDB"  : generatePDB = true;           break;
+                        case "CSV"     : Solver.outputCSV      = true;
+                                         Solver.outputMoves    = false;
+                                         Solver.outputSolution = false;
+                                         break;
+                        case "NOSOL"   : Solver.outputSolution = false; break;
+                        case "NOSKIP"  : Solver.skipUnsolvable = false; break;
+                        case "NOMOVE"  : Solver.outputMoves    = false; break;
+                        case "BFS"     : useMethods.add(Method.BFS);    break;
+                        case "DFS"     : useMethods.add(Method.DFS);    break;
+                        case "AST"     : useMethods.add(Method.AST);    break;
+                        case "ASD"     : useMethods.add(Method.ASD);    break;                
+                        case "IDA"     : useMethods.add(Method.IDA);    break;
+                        case "IDR"     : useMethods.add(Method.IDR);    break;
+                        case "IDP"     : useMethods.add(Method.IDP);    break;
+                        case "BDB"     : useMethods.add(Method.BDB);    break;
+                        case "BDA"     : useMethods.add(Method.BDA);    break;
+                        case "EPA"     : useMethods.add(Method.EPA);    break;
+                        case "ASP"     : useMethods.add(Method.ASP);    break;
+                        case "HDA"     : useMethods.add(Method.HDA);    break;
+                        case "WORKERS" : try {
+                                             int count = Integer.parseInt(args[++a]);
+                                             if (count < 1) throw new NumberFormatException();
+                                             Solver.workers = count;
+                                         } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                                             System.out.println("-workers needs a number of threads");
+                                             System.exit(1);
+                                         }
+                                         break;
+                        case "TBL"     : useMethods.add(Method.TBL);    break;
+                        case "VERIFY"  : Solver.verify        = true;   break;
+                        case "FRONTIER": try {
+                                             int depth = Integer.parseInt(args[++a]);
+                                             if (depth < 0) throw new NumberFormatException();
+                                             Solver.frontierDepth = depth;
+                                         } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                                             System.out.println("-frontier needs a depth of 0 or more");
+                                             System.exit(1);
+                                         }
+                                         break;
+                        case "NOPRUNE" : Solver.prune         = false;  break;
+                        case "TT"      : try {
+                                             int mb = Integer.parseInt(args[++a]);
+                                             if (mb < 0) throw new NumberFormatException();
+                                             Solver.tableSize = mb;
+                                         } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                                             System.out.println("-tt needs a number of MB, 0 or more");
+                                             System.exit(1);
+                                         }
+                                         break;
+                        case "LAYERS"  : Solver.layers        = true;   break;
+                        case "EXHAUST" : Solver.exhaustive    = true;   break;
+                        case "MAXMEM"  : try {
+                                             long mb = Long.parseLong(args[++a]);
+                                             if (mb < 0 || mb > MAX_MB) throw new NumberFormatException();
+                                             Solver.maxMemory = mb << 20;
+                                         } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                                             System.out.println("-maxmem needs a number of MB, 0 for no limit");
+                                             System.exit(1);
+                                         }
+                                         break;
+                        case "BFSMEM"  : try {
+                                             long mb = Long.parseLong(args[++a]);
+                                             if (mb < 1 || mb > MAX_MB) throw new NumberFormatException();
+                                             Solver.bfsBudget = mb << 20;
+                                         } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                                             System.out.println("-bfsmem needs a number of MB, at least 1");
+                                             System.exit(1);
+                                         }
+                                         break;
+                        case "TOTAL"   : Solver.outputTotal   = true;   break;
+                        case "SUMMARY" : Solver.outputSummary = true;   break;
+                        case "HEAP"    : Solver.useHeap       = true;   break;
+                        case "GC"      : Solver.forceGC       = true;   break;
+                        case "CACHE"   : try {
+                                             Solver.cache = new SolutionCache(Integer.parseInt(args[++a]));
+                                         } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                                             System.out.println("-cache needs a number of entries");
+                                             System.exit(1);
+                                         } catch (IllegalArgumentException e) {
+                                             System.out.println("-cache needs at least 1 entry");
+                                             System.exit(1);
+                                         }
+                                         break;
+                        case "BININ"   : if (a + 1 >= args.length) {
+                                             System.out.println("-binin needs a file name");
+                                             System.exit(1);
+                                         }
+                                         Solver.binIn = new File(args[++a]);
+                                         showPrompt   = false;
+                                         break;
+                        case "BINOUT"  : if (a + 1 >= args.length) {
+                                             System.out.println("-binout needs a file name");
+                                             System.exit(1);
+                                         }
+                                         Solver.binOutFile = new File(args[++a]);
+                                         break;
+                        case "CACHEFILE": if (a + 1 >= args.length) {
+                                             System.out.println("-cachefile needs a file name");
+                                             System.exit(1);
+                                         }
+                                         Solver.cacheFile = new File(args[++a]);
+                                         break;
+                        case "THREADS" : try {
+                                             Solver.threads = Integer.parseInt(args[++a]);
+                                         } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                                             Solver.threads = 0;
+                                         }
+                                         if (Solver.threads < 1) {
+                                             System.out.println("-threads needs a number of threads");
+                                             System.exit(1);
+                                         }
+                                         break;
+                        case "HAM"     : useHeuristics.add(Board.Heuristic.HAM); break;
+                        case "MAN"     : useHeuristics.add(Board.Heuristic.MAN); break;
+                        case "INT"     : useHeuristics.add(Board.Heuristic.INT); break;
+                        case "PDB"     : useHeuristics.add(Board.Heuristic.PDB); break;
+                        case "WD"      : useHeuristics.add(Board.Heuristic.WD);  break;
+                        default:
+                            displayHelp();  
+                            System.out.println("\nInvalid option " + arg);
+                            System.exit(1);
+                    }
+                } else
+                try {
+                    in = new LineReader(new FileInputStream(arg));
+                    showPrompt = false;
+                } catch (IOException e) {};
+            }
+        }
+        if (generatePDB) {
+            generatePatternDBs();
+            System.exit(0);
+        }
+        if (useMethods.isEmpty())       useMethods.add(Method.IDA);
+        if (useHeuristics.isEmpty()) useHeuristics.add(Board.Heuristic.INT);
+        if (cacheFile != null) {
+            if (cache == null) cache = new SolutionCache(CACHE_ENTRIES);
+            if (cacheFile.exists())
+                try {
+                    cache.load(cacheFile);
+                } catch (IOException e) {
+                    System.out.println("# Failed to load " + cacheFile + ": " + e.getMessage());
+                }
+        }
+
+        if (showPrompt) {
+            displayHelp();
+            System.out.println("Enter initial puzzle state on a line i.e:");
+            System.out.println("    8 7 6 5 4 3 2 1 0");
+            System.out.println("Enter a blank line to exit.");
+        }
+        BatchFile.BoardReader boards = null;
+        try {
+            if (binIn != null)      boards = new BatchFile.BoardReader(binIn);
+            if (binOutFile != null) binOut = new BatchFile.ResultWriter(binOutFile, outputSolution);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+            System.exit(1);
+        }
+        // reading a file, nobody is watching the output line by line, so
+        // it goes through a big buffer instead of a flush for every println
+        if (!showPrompt)
+            System.setOut(new PrintStream(new BufferedOutputStream(
+                              new FileOutputStream(FileDescriptor.out), 1 << 16), false));
+        // with -threads, lines are handed to a pool of workers, and their
+        // reports are printed in input order.  the queue of pending
+        // results is bounded so a huge file doesn't get read all at once.
+        boolean                    parallel = threads > 1 && !showPrompt;
+        ExecutorService            pool     = parallel ? Executors.newFixedThreadPool(threads) : null;
+        ArrayDeque<Future<Report>> pending  = new ArrayDeque<Future<Report>>();
+        long                       total    = 0;
+        long                       board    = 0;
+        while (!finished) {
+            if (showPrompt) System.out.print(">> ");
+            final String line;
+            try {
+                if (boards == null) line = in.readLine();
+                else {
+                    byte[] state = boards.next();
+                    line = state == null ? null : BatchFile.toLine(state);
+                }
+            } catch (IOException e) {
+                System.out.println("# Failed to read input: " + e.getMessage());
+                break;
+            }
+            if (line == null) { finished = true; continue; }
+            if (line.length() < 1) { 
+                if (showPrompt) finished = true; 
+                continue;
+            }
+            if (line.charAt(0) == '#') continue;
+            if (!parallel) {
+                Report report = solveLine(line, useMethods, useHeuristics, new Report(false, board++));
+                writeResults(report);
+                total = total + report.total;
+                continue;
+            }
+            final long id = board++;
+            pending.addLast(pool.submit(new Callable<Report>() {
+                public Report call() {
+                    return solveLine(line, useMethods, useHeuristics, new Report(true, id));
+                }
+            }));
+            if (pending.size() >= 4 * threads) total = total + printReport(pending.removeFirst());
+        }
+        while (!pending.isEmpty()) total = total + printReport(pending.removeFirst());
+        if (pool != null) pool.shutdown();
+        if (outputTotal) System.out.println("Total time: " + total + "ms.");
+        if (cache != null && (outputTotal || outputSummary))
+            System.out.println("Cache: " + cache.hits() + " hits, " + cache.misses() + " misses, " +
+                               cache.size() + " entries.");
+        if (cacheFile != null)
+            try {
+                cache.save(cacheFile);
+            } catch (IOException e) {
+                System.out.println("# Failed to save " + cacheFile + ": " + e.getMessage());
+            }
+        try {
+            if (boards != null) boards.close();
+            if (binOut != null) binOut.close();
+        } catch (IOException e) {
+            System.out.println("# Failed to write " + binOutFile + ": " + e.getMessage());
+        }
+        System.out.flush();
+    }
+}
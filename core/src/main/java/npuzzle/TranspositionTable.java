@@ -0,0 +1,129 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-10-31
+// TranspositionTable.java
+// fixed size, lossy memory of the states IDA* has reached in the current
+// iteration and the fewest moves it took to get there.  a state reached
+// again in as many moves or more has a subtree that was already searched
+// under the same threshold, so it can be skipped.  with move pruning the
+// moves allowed below a state depend on the pruning automaton's state as
+// well, so an entry is only the same if that matches too.  entries from earlier
+// iterations are stale rather than cleared, and when a bucket is full
+// something is forgotten, which only costs expansions, never optimality.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.Arrays;
+public class TranspositionTable {
+
+    // the last table made on each thread, see forBoard()
+    private static final ThreadLocal<TranspositionTable> last = new ThreadLocal<TranspositionTable>();
+
+    // a table of this many MB for this board's size, or null when there
+    // isn't one to be had: 0 MB, or boards too big to pack.  the next search
+    // on the same thread gets the same table back with a new stamp,
+    // since making and zeroing a new one for every board of a batch
+    // cost more than the table saved
+    static TranspositionTable forBoard(Board board, int megabytes) {
+        if (megabytes <= 0 || board.packedWidth() == 0) return null;
+        long bytes = (long)megabytes << 20;
+        TranspositionTable table = last.get();
+        if (table == null || table.width != board.packedWidth() || table.asked != bytes) {
+            table = new TranspositionTable(board.packedWidth(), bytes);
+            last.set(table);
+        } else {
+            table.nextIteration();
+            table.hits = 0;
+        }
+        return table;
+    }
+
+    // each bucket is two entries: the first keeps the state closest to
+    // the root (the biggest subtree saved), the second is whatever came
+    // last, so deep states still get a chance
+    public TranspositionTable(int width, long bytes) {
+        if (width != 1 && width != 2) throw new IllegalArgumentException();
+        long entries = bytes / (8 * width + 8);
+        int  buckets = 1;
+        while (2L * buckets * 2 <= entries && buckets < (1 << 28)) buckets <<= 1;
+        this.width  = width;
+        this.asked  = bytes;
+        this.mask   = buckets - 1;
+        this.keys   = new long[2 * buckets * width];
+        this.stamps = new int[2 * buckets];
+        this.fsms   = new int[2 * buckets];
+        this.round  = 1;
+    }
+
+    // entries are stamped with the iteration that wrote them, so
+    // starting a new one forgets everything without touching the arrays
+    public void nextIteration() {
+        if (++round == 1 << 23) {
+            Arrays.fill(stamps, 0);
+            round = 1;
+        }
+    }
+
+    // false if the state was already reached in this iteration in no more
+    // than g moves with the same move pruning state, otherwise remember it
+    // and return true.  the same pruning state allows the same moves below,
+    // and at least as many moves left to make goes at least as far
+    public boolean visit(long hi, long lo, int g, int fsm) {
+        int hash  = width == 1 ? LongHashSet.hash(hi) : LongHashSet.hash(hi) ^ 31 * LongHashSet.hash(lo);
+        hash     ^= fsm * 0x9e3779b9;
+        int first = 2 * (hash & mask);
+        for (int e = first; e < first + 2; e++)
+            if (isCurrent(e) && fsms[e] == fsm &&
+                keys[e * width] == hi && (width == 1 || keys[e * width + 1] == lo)) {
+                if ((stamps[e] & 0xff) <= g) {
+                    hits++;
+                    return false;
+                }
+                stamps[e] = round << 8 | g;
+                return true;
+            }
+        if (!isCurrent(first) || g < (stamps[first] & 0xff)) {
+            if (isCurrent(first)) copy(first, first + 1);
+            write(first, hi, lo, g, fsm);
+        } else {
+            write(first + 1, hi, lo, g, fsm);
+        }
+        return true;
+    }
+
+    public boolean visit(Board board, int g) {
+        if (width == 1) return visit(board.pack(), 0, g, board.fsm());
+        return visit(board.packHigh(), board.packLow(), g, board.fsm());
+    }
+
+    private boolean isCurrent(int e) { return stamps[e] >>> 8 == round; }
+
+    private void write(int e, long hi, long lo, int g, int fsm) {
+        keys[e * width] = hi;
+        if (width == 2) keys[e * width + 1] = lo;
+        stamps[e] = round << 8 | g;
+        fsms[e]   = fsm;
+    }
+
+    private void copy(int from, int to) {
+        keys[to * width] = keys[from * width];
+        if (width == 2) keys[to * width + 1] = keys[from * width + 1];
+        stamps[to] = stamps[from];
+        fsms[to]   = fsms[from];
+    }
+
+    // states skipped because they were already searched
+    public long hits()  { return hits; }
+    public long bytes() { return 8L * keys.length + 4L * stamps.length + 4L * fsms.length; }
+
+    // private variables
+    private final int    width;
+    private final long   asked;
+    private final int    mask;
+    private final long[] keys;
+    private final int[]  stamps;
+    private final int[]  fsms;    // move pruning state of each entry
+    private int          round;
+    private long         hits;
+}
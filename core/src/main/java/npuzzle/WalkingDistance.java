@@ -0,0 +1,163 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-02
+// WalkingDistance.java
+// walking distance (Takahashi): forget which column everything is in, and
+// count the moves it takes to get every tile into its own row, when the
+// only thing that can happen is the blank trading places with some tile
+// in the row above or below it.  the state is just how many tiles of each
+// goal row are in each row, a few tens of thousands of them for a 4x4, so
+// the distance of every one is worked out up front with a breadth first
+// search.  columns are the same thing turned sideways, and a move is either
+// up/down or left/right, so the two distances add up and still never
+// overestimate.  unlike manhattan it sees tiles getting in each other's way
+// across rows, which is what the linear conflicts only see within one.
+// the WD heuristic takes the larger of this and INT, so it is never weaker.
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+public class WalkingDistance {
+
+    // which way the blank goes, in the rows or sideways in the columns
+    static final int BACK    = 0;   // up, or left
+    static final int FORWARD = 1;   // down, or right
+
+    private static final WalkingDistance[] cached = new WalkingDistance[5];
+
+    // the tables for a dimension, built the first time they're asked for.
+    // null for 5x5 and up, where there are far too many states
+    public static synchronized WalkingDistance forDimension(int dim) {
+        if (dim < 2 || dim >= cached.length) return null;
+        if (cached[dim] == null) cached[dim] = new WalkingDistance(dim);
+        return cached[dim];
+    }
+
+    // breadth first from the goal, where every row holds its own tiles
+    // except row 0, which has the blank in place of one of them
+    private WalkingDistance(int dim) {
+        this.dim   = dim;
+        this.rowOf = new byte[dim * dim];
+        this.colOf = new byte[dim * dim];
+        for (int n = 0; n < dim * dim; n++) {
+            rowOf[n] = (byte)(n / dim);
+            colOf[n] = (byte)(n % dim);
+        }
+        ArrayList<Long> states = new ArrayList<Long>();
+        ArrayList<Byte> depths = new ArrayList<Byte>();
+        int[] counts = new int[dim * dim];
+        for (int r = 0; r < dim; r++) counts[r * dim + r] = dim;
+        counts[0] = dim - 1;
+        states.add(encode(counts));
+        depths.add((byte)0);
+        index.put(states.get(0), 0);
+        ArrayList<int[]> moves = new ArrayList<int[]>();
+        for (int i = 0; i < states.size(); i++) {
+            decode(states.get(i), counts);
+            int   blank = blankRow(counts);
+            int[] next  = new int[2 * dim];
+            for (int way = BACK; way <= FORWARD; way++) {
+                int from = way == BACK ? blank - 1 : blank + 1;
+                for (int g = 0; g < dim; g++) {
+                    next[way * dim + g] = -1;
+                    if (from < 0 || from >= dim || counts[from * dim + g] == 0) continue;
+                    counts[from * dim + g]--;
+                    counts[blank * dim + g]++;
+                    long    key  = encode(counts);
+                    Integer seen = index.get(key);
+                    if (seen == null) {
+                        seen = states.size();
+                        index.put(key, seen);
+                        states.add(key);
+                        depths.add((byte)(depths.get(i) + 1));
+                    }
+                    next[way * dim + g] = seen;
+                    counts[blank * dim + g]--;
+                    counts[from * dim + g]++;
+                }
+            }
+            moves.add(next);
+        }
+        distance   = new byte[states.size()];
+        transition = new char[states.size() * 2 * dim];
+        for (int i = 0; i < distance.length; i++) {
+            distance[i] = depths.get(i);
+            for (int j = 0; j < 2 * dim; j++)
+                transition[i * 2 * dim + j] = (char)moves.get(i)[j];
+        }
+    }
+
+    // 3 bits a count, row by row
+    private long encode(int[] counts) {
+        long key = 0;
+        for (int c: counts) key = key << 3 | c;
+        return key;
+    }
+
+    private void decode(long key, int[] counts) {
+        for (int n = counts.length - 1; n >= 0; n--) {
+            counts[n] = (int)(key & 7);
+            key >>>= 3;
+        }
+    }
+
+    // the row a tile short is the one with the blank in it
+    private int blankRow(int[] counts) {
+        for (int r = 0; ; r++) {
+            int sum = 0;
+            for (int g = 0; g < dim; g++) sum += counts[r * dim + g];
+            if (sum < dim) return r;
+        }
+    }
+
+    // a board keeps the state of its rows and of its columns in one int,
+    // rows in the high half.  the estimate is the two distances added up
+    int pack(byte[] state) {
+        return index(state, rowOf) << 16 | index(state, colOf);
+    }
+
+    int estimate(int packed) {
+        return distance[packed >>> 16] + distance[packed & 0xffff];
+    }
+
+    // the packed state after the blank moves in a direction and the tile
+    // that was there takes its place.  only one half changes
+    int move(int packed, int direction, int tile) {
+        int rows    = packed >>> 16;
+        int columns = packed & 0xffff;
+        switch (direction) {
+            case Board.UP:    rows    = next(rows,    BACK,    rowOf[tile]); break;
+            case Board.DOWN:  rows    = next(rows,    FORWARD, rowOf[tile]); break;
+            case Board.LEFT:  columns = next(columns, BACK,    colOf[tile]); break;
+            case Board.RIGHT: columns = next(columns, FORWARD, colOf[tile]); break;
+        }
+        return rows << 16 | columns;
+    }
+
+    // the state of one half, lineOf is rowOf for the rows or colOf for the columns
+    private int index(byte[] state, byte[] lineOf) {
+        int[] counts = new int[dim * dim];
+        for (int n = 0; n < state.length; n++)
+            if (state[n] != 0) counts[lineOf[n] * dim + lineOf[state[n]]]++;
+        return index.get(encode(counts));
+    }
+
+    // the state after the blank goes one way, trading places with
+    // a tile that belongs in line 'goal'
+    private int next(int index, int way, int goal) {
+        return transition[(index * 2 + way) * dim + goal];
+    }
+
+    public int  states() { return distance.length; }
+    public long bytes()  { return distance.length + 2L * transition.length; }
+
+    // private variables
+    private final int                    dim;
+    private final byte[]                 rowOf;
+    private final byte[]                 colOf;
+    private final HashMap<Long, Integer> index = new HashMap<Long, Integer>();
+    private final byte[]                 distance;
+    private final char[]                 transition;
+}
@@ -0,0 +1,90 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-11
+// BatchFileTest.java
+// converting to the binary format and back gives the same bytes: boards
+// with -tobin and -totext, for nibble and byte tiles, and results with
+// -tocsv and -fromcsv
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+public class BatchFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void boardsRoundTrip() throws IOException {
+        // 3x3 and 4x4 are 4 bits a tile, 5x5 a byte a tile
+        for (String sample: new String[] { "../3x3.txt", "../4x4.txt", "../5x5.txt" }) {
+            List<String> boards = boards(sample);
+            File text = folder.newFile();
+            Files.write(text.toPath(), boards, StandardCharsets.UTF_8);
+            File bin  = folder.newFile();
+            File back = folder.newFile();
+            assertEquals(sample, boards.size(), BatchFile.toBinary(text, bin));
+            assertEquals(sample, boards.size(), BatchFile.toText(bin, back));
+            assertArrayEquals(sample, Files.readAllBytes(text.toPath()), Files.readAllBytes(back.toPath()));
+            // and the text that came back makes the same binary file
+            File again = folder.newFile();
+            BatchFile.toBinary(back, again);
+            assertArrayEquals(sample, Files.readAllBytes(bin.toPath()), Files.readAllBytes(again.toPath()));
+        }
+    }
+
+    @Test
+    public void resultsRoundTrip() throws IOException {
+        List<String> boards = boards("../3x3.txt").subList(0, 20);
+        // the CSV has no heuristic for the uninformed methods, so only the
+        // informed ones come back to the same bytes
+        File bin = folder.newFile();
+        try (BatchFile.ResultWriter out = new BatchFile.ResultWriter(bin, false)) {
+            for (int n = 0; n < boards.size(); n++) {
+                out.write(n, solve(boards.get(n), Solver.Method.IDR, Board.Heuristic.INT));
+                out.write(n, solve(boards.get(n), Solver.Method.AST, Board.Heuristic.MAN));
+            }
+        }
+        File csv  = folder.newFile();
+        File back = folder.newFile();
+        assertEquals(2L * boards.size(), BatchFile.toCSV(bin, csv, false));
+        assertEquals(2L * boards.size(), BatchFile.fromCSV(csv, back));
+        assertArrayEquals(Files.readAllBytes(bin.toPath()), Files.readAllBytes(back.toPath()));
+        // and from the CSV side every method comes back the same
+        try (BatchFile.ResultWriter out = new BatchFile.ResultWriter(bin, false)) {
+            for (int n = 0; n < boards.size(); n++)
+                out.write(n, solve(boards.get(n), Solver.Method.BFS, Board.Heuristic.INT));
+        }
+        BatchFile.toCSV(bin, csv, false);
+        BatchFile.fromCSV(csv, back);
+        File again = folder.newFile();
+        BatchFile.toCSV(back, again, false);
+        assertArrayEquals(Files.readAllBytes(csv.toPath()), Files.readAllBytes(again.toPath()));
+    }
+
+    // the boards of a sample file, written the way -totext writes them
+    private static List<String> boards(String file) throws IOException {
+        List<String> boards = new ArrayList<String>();
+        for (String line: Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8))
+            if (!line.trim().isEmpty() && line.charAt(0) != '#')
+                boards.add(BatchFile.toLine(Board.parse(line)));
+        return boards;
+    }
+
+    private static SolveResult solve(String board, Solver.Method method, Board.Heuristic h) {
+        return Solver.solve(new SolveRequest(board, method, h));
+    }
+}
@@ -0,0 +1,64 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-11
+// BoardTest.java
+// checks manhattan + interference never overestimates a 3x3 board, and
+// that the iterative updates agree with counting the whole board again
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+public class BoardTest {
+
+    @Test
+    public void interferenceNeverOverestimates() {
+        DistanceTable exact = DistanceTable.generate(3);
+        byte[] state = new byte[9];
+        for (long rank = 0; rank < Permutation.count(9); rank++) {
+            Permutation.unrank(rank, state);
+            int d = exact.distance(state);
+            if (d == DistanceTable.UNSOLVABLE) continue;
+            int h = board(state, Board.Heuristic.INT).distance();
+            assertTrue("rank " + rank + ": " + h + " > " + d, h <= d);
+        }
+    }
+
+    @Test
+    public void threeReversedTilesAreTwoDetours() {
+        Board b = new Board("0 3 2 1 4 5 6 7 8 9 10 11 12 13 14 15", Board.Heuristic.INT);
+        assertEquals(2, b.conflicts());
+        // counting pairs made this 32
+        assertTrue(new Board("8 7 6 5 4 3 2 1 0", Board.Heuristic.INT).distance() <= 28);
+    }
+
+    @Test
+    public void movesMatchTheWholeBoard() {
+        Random random = new Random(3410);
+        for (int dim = 3; dim <= 5; dim++) {
+            Board b = board(goal(dim * dim), Board.Heuristic.INT);
+            for (int n = 0; n < 2000; n++) {
+                Board next = b.moveTo(random.nextInt(Board.DIRECTIONS));
+                if (next == null) continue;
+                assertEquals(board(next.getState(), Board.Heuristic.INT).distance(), next.distance());
+                b = next;
+            }
+        }
+    }
+
+    private static Board board(byte[] state, Board.Heuristic h) {
+        StringBuilder blocks = new StringBuilder();
+        for (byte tile: state) blocks.append(tile).append(' ');
+        return new Board(blocks.toString(), h);
+    }
+
+    private static byte[] goal(int cells) {
+        byte[] state = new byte[cells];
+        for (int n = 0; n < cells; n++) state[n] = (byte)n;
+        return state;
+    }
+}
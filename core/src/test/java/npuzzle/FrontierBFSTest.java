@@ -0,0 +1,41 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-11
+// FrontierBFSTest.java
+// runs the layered BFS with a tiny budget, so layers are written as many
+// runs and merged in more than one pass, and checks it against the table
+// of 3x3 distances and its own budget
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+public class FrontierBFSTest {
+
+    private static final long BUDGET = 16L << 10;
+
+    @Test
+    public void hardestBoardOnDisk() {
+        Board        board  = new Board("8 6 7 2 5 4 3 0 1", Board.Heuristic.MAN);
+        FrontierBFS  search = new FrontierBFS(board, BUDGET, false, null);
+        assertTrue(search.search());
+        assertEquals(DistanceTable.generate(3).distance(board.getState()), search.moves());
+        assertTrue(search.bytes() + " > " + BUDGET, search.bytes() <= BUDGET);
+        // the moves really do get there
+        for (int i = 0; i < search.moves(); i++) board = board.moveTo(search.move(i));
+        assertEquals(0, board.distance());
+    }
+
+    @Test
+    public void wholeSpaceOnDisk() {
+        FrontierBFS search = new FrontierBFS(new Board("0 1 2 3 4 5 6 7 8", Board.Heuristic.MAN),
+                                             BUDGET, true, null);
+        search.search();
+        long total = 0;
+        for (long count: search.histogram()) total += count;
+        assertEquals(Permutation.count(9) / 2, total);
+    }
+}
@@ -0,0 +1,83 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-11
+// LongHashSetTest.java
+// the packed closed list against java.util's set and map, for one and two
+// longs a key, through enough keys to make it grow several times
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+public class LongHashSetTest {
+
+    @Test
+    public void oneLongKeys() {
+        LongHashSet set  = new LongHashSet(1, 4);
+        Set<Long>   same = new HashSet<Long>();
+        Random random = new Random(3410);
+        for (int n = 0; n < 50000; n++) {
+            // few enough bits that some keys come up twice
+            long key = 1 + random.nextInt(1 << 16);
+            assertEquals(same.add(key), set.add(key));
+        }
+        assertEquals(same.size(), set.size());
+        for (long key = 1; key <= 1 << 16; key++)
+            assertEquals(same.contains(key), set.contains(key));
+        assertTrue(set.capacity() >= set.size());
+    }
+
+    @Test
+    public void twoLongKeys() {
+        LongHashSet set  = new LongHashSet(2, 4);
+        Set<String> same = new HashSet<String>();
+        Random random = new Random(3410);
+        for (int n = 0; n < 50000; n++) {
+            // a high half of zero is still a key, as long as the low one isn't
+            long hi = random.nextInt(64);
+            long lo = 1 + random.nextInt(1024);
+            assertEquals(same.add(hi + "/" + lo), set.add(hi, lo));
+        }
+        assertEquals(same.size(), set.size());
+        for (long hi = 0; hi < 64; hi++)
+            for (long lo = 1; lo <= 1024; lo++)
+                assertEquals(same.contains(hi + "/" + lo), set.contains(hi, lo));
+    }
+
+    @Test
+    public void valuesSurviveGrowing() {
+        LongHashSet map  = new LongHashSet(2, 4, true);
+        Map<Long, Integer> same = new HashMap<Long, Integer>();
+        Random random = new Random(3410);
+        for (int n = 0; n < 50000; n++) {
+            long key   = 1 + random.nextInt(20000);
+            int  value = random.nextInt(100);
+            map.put(key, key * 7, value);
+            same.put(key, value);
+        }
+        assertEquals(same.size(), map.size());
+        for (long key = 1; key <= 20000; key++) {
+            Integer value = same.get(key);
+            assertEquals(value == null ? -1 : value.intValue(), map.get(key, key * 7));
+        }
+    }
+
+    @Test
+    public void clearEmptiesIt() {
+        LongHashSet set = new LongHashSet(1);
+        for (long key = 1; key <= 1000; key++) set.add(key);
+        set.clear();
+        assertEquals(0, set.size());
+        for (long key = 1; key <= 1000; key++) assertFalse(set.contains(key));
+        assertTrue(set.add(5L));
+    }
+}
@@ -0,0 +1,69 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-11
+// MovePruningTest.java
+// the tree searches find solutions just as short with the move pruning
+// automaton as without it, on every board in 3x3.txt, and with the
+// transposition table on top of it too
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.BeforeClass;
+import org.junit.Test;
+public class MovePruningTest {
+
+    // the tests run in core/, the sample boards are one up
+    private static final String BOARDS = "../3x3.txt";
+
+    private static List<String> boards;
+
+    @BeforeClass
+    public static void load() throws IOException {
+        boards = new ArrayList<String>();
+        for (String line: Files.readAllLines(Paths.get(BOARDS), StandardCharsets.UTF_8))
+            if (!line.trim().isEmpty() && line.charAt(0) != '#') boards.add(line);
+        assertFalse(boards.isEmpty());
+    }
+
+    @Test
+    public void sameCostsWithAndWithout() {
+        for (Solver.Method method: new Solver.Method[] { Solver.Method.IDA, Solver.Method.IDR,
+                                                         Solver.Method.IDP })
+            for (String board: boards) {
+                SolveResult on  = solve(board, method, true);
+                SolveResult off = solve(board, method, false);
+                String what = method + " on " + board;
+                assertEquals(what, off.isSolved(), on.isSolved());
+                assertEquals(what, off.cost(), on.cost());
+            }
+    }
+
+    @Test
+    public void sameCostsWithTheTable() {
+        // the table keeps the pruning state of each entry, so the two
+        // together still find the shortest solutions
+        for (Solver.Method method: new Solver.Method[] { Solver.Method.IDA, Solver.Method.IDR })
+            for (String board: boards) {
+                SolveRequest request = new SolveRequest(board, method, Board.Heuristic.INT);
+                request.setTableSize(1);
+                assertEquals(method + " on " + board, solve(board, method, false).cost(),
+                             Solver.solve(request).cost());
+            }
+    }
+
+    private static SolveResult solve(String board, Solver.Method method, boolean prune) {
+        SolveRequest request = new SolveRequest(board, method, Board.Heuristic.INT);
+        request.setPruning(prune);
+        return Solver.solve(request);
+    }
+}
@@ -0,0 +1,56 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-11
+// ParallelAStarTest.java
+// HDA with one, two and four workers finds the same costs as AST on every
+// board in 3x3.txt, and on a few from 4x4.txt, and its moves get there
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+public class ParallelAStarTest {
+
+    @Test
+    public void sameCostsAsAST() throws IOException {
+        List<String> boards = boards("../3x3.txt");
+        // the 4x4 boards at the start of the file are the quick ones
+        boards.addAll(boards("../4x4.txt").subList(0, 40));
+        for (String board: boards) {
+            int cost = solve(board, Solver.Method.AST, 1).cost();
+            for (int workers: new int[] { 1, 2, 4 }) {
+                SolveResult result = solve(board, Solver.Method.HDA, workers);
+                String what = workers + " workers on " + board;
+                assertEquals(what, cost, result.cost());
+                if (!result.isSolved()) continue;
+                Board at = new Board(board, Board.Heuristic.MAN);
+                for (int dir: result.path()) at = at.moveTo(dir);
+                assertTrue(what, at.isGoal());
+            }
+        }
+    }
+
+    private static List<String> boards(String file) throws IOException {
+        List<String> boards = new ArrayList<String>();
+        for (String line: Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8))
+            if (!line.trim().isEmpty() && line.charAt(0) != '#') boards.add(line);
+        assertFalse(boards.isEmpty());
+        return boards;
+    }
+
+    private static SolveResult solve(String board, Solver.Method method, int workers) {
+        SolveRequest request = new SolveRequest(board, method, Board.Heuristic.INT);
+        request.setWorkers(workers);
+        return Solver.solve(request);
+    }
+}
@@ -0,0 +1,86 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-11
+// PatternDBTest.java
+// builds every partition, checks the values never overestimate, and that
+// a saved database maps back to the same values
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+public class PatternDBTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void every3x3BoardIsUnderestimated() {
+        PatternDB     db    = PatternDB.generate(3, PatternDB.PARTITION_44);
+        DistanceTable exact = DistanceTable.generate(3);
+        byte[] state   = new byte[9];
+        int[]  scratch = new int[9];
+        for (long rank = 0; rank < Permutation.count(9); rank++) {
+            Permutation.unrank(rank, state);
+            int d = exact.distance(state);
+            if (d == DistanceTable.UNSOLVABLE) continue;
+            int h = db.distance(state, scratch);
+            assertTrue("rank " + rank + ": " + h + " > " + d, h <= d);
+            if (d == 0) assertEquals(0, h);
+        }
+    }
+
+    @Test
+    public void the663PartitionBuildsAndUnderestimatesWalks() {
+        PatternDB db = PatternDB.generate(4, PatternDB.PARTITION_663);
+        byte[] state   = goal(16);
+        int[]  scratch = new int[16];
+        assertEquals(0, db.distance(state, scratch));
+        // a walk of n moves is at least as long as the shortest way back
+        Random random = new Random(3410);
+        int zero = 0;
+        for (int n = 1; n <= 200; n++) {
+            int to;
+            do {
+                to = zero + new int[] { -4, 1, -1, 4 }[random.nextInt(4)];
+            } while (to < 0 || to >= 16 || (Math.abs(to - zero) == 1 && to / 4 != zero / 4));
+            state[zero] = state[to];
+            state[to]   = 0;
+            zero        = to;
+            assertTrue(db.distance(state, scratch) <= n);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aGroupOfEightIsRefused() {
+        PatternDB.generate(4, new int[][] { { 1, 2, 3, 4, 5, 6, 7 },
+                                            { 8, 9, 10, 11, 12, 13, 14, 15 } });
+    }
+
+    @Test
+    public void savedTablesLoadTheSame() throws Exception {
+        PatternDB db   = PatternDB.generate(3, PatternDB.PARTITION_44);
+        File      file = folder.newFile(PatternDB.fileName(3, PatternDB.PARTITION_44));
+        db.save(file);
+        PatternDB back = PatternDB.load(file, 3, PatternDB.PARTITION_44);
+        byte[] state   = new byte[9];
+        int[]  scratch = new int[9];
+        for (long rank = 0; rank < Permutation.count(9); rank += 7) {
+            Permutation.unrank(rank, state);
+            assertEquals(db.distance(state, scratch), back.distance(state, scratch));
+        }
+    }
+
+    private static byte[] goal(int cells) {
+        byte[] state = new byte[cells];
+        for (int n = 0; n < cells; n++) state[n] = (byte)n;
+        return state;
+    }
+}
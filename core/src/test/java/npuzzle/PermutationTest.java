@@ -0,0 +1,76 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-11
+// PermutationTest.java
+// every 3x3 rank maps to a board and back, and boards up to 4x4 map to a
+// rank and back
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+public class PermutationTest {
+
+    @Test
+    public void counts() {
+        assertEquals(1L,                 Permutation.count(0));
+        assertEquals(362880L,            Permutation.count(9));
+        assertEquals(20922789888000L,    Permutation.count(16));
+    }
+
+    @Test
+    public void every3x3RankRoundTrips() {
+        byte[]  state = new byte[9];
+        int[]   where = new int[9];
+        boolean[] seen = new boolean[(int)Permutation.count(9)];
+        for (long rank = 0; rank < Permutation.count(9); rank++) {
+            Permutation.unrank(rank, state);
+            assertEquals(rank, Permutation.rank(state, where));
+            // unrank gives a permutation, and never the same one twice
+            int tiles = 0;
+            for (byte tile: state) tiles |= 1 << tile;
+            assertEquals((1 << 9) - 1, tiles);
+            seen[(int)rank] = true;
+        }
+        for (boolean s: seen) assertTrue(s);
+    }
+
+    @Test
+    public void goalIsRankZero() {
+        byte[] state = new byte[16];
+        for (int n = 0; n < 16; n++) state[n] = (byte)n;
+        assertEquals(0L, Permutation.rank(state, new int[16]));
+    }
+
+    @Test
+    public void bigBoardsRoundTrip() {
+        Random random = new Random(3410);
+        for (int cells: new int[] { 12, Permutation.MAX_CELLS }) {
+            byte[] state = new byte[cells];
+            byte[] back  = new byte[cells];
+            int[]  where = new int[cells];
+            for (int n = 0; n < 1000; n++) {
+                shuffle(state, random);
+                long rank = Permutation.rank(state, where);
+                assertTrue(rank >= 0 && rank < Permutation.count(cells));
+                Permutation.unrank(rank, back);
+                assertArrayEquals(state, back);
+            }
+        }
+    }
+
+    private static void shuffle(byte[] state, Random random) {
+        for (int n = 0; n < state.length; n++) state[n] = (byte)n;
+        for (int n = state.length - 1; n > 0; n--) {
+            int  m   = random.nextInt(n + 1);
+            byte t   = state[n];
+            state[n] = state[m];
+            state[m] = t;
+        }
+    }
+}
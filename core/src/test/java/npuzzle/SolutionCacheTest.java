@@ -0,0 +1,74 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-11
+// SolutionCacheTest.java
+// a board's mirror image is found under the board's entry with the moves
+// flipped, and a cache saved to a file and loaded back has the same entries
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+public class SolutionCacheTest {
+
+    private static final String[] BOARDS = { "8 6 7 2 5 4 3 0 1", "4 6 7 1 0 2 5 3 8",
+                                             "5 4 0 6 1 8 7 3 2", "1 2 0 3 4 5 6 7 8" };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void mirrorImageHits() {
+        SolutionCache cache = new SolutionCache(10);
+        for (String board: BOARDS) {
+            SolveResult first = solve(board, cache);
+            String mirror = BatchFile.toLine(SolutionCache.mirror(first.initial().getState(), 3));
+            long hits = cache.hits();
+            SolveResult again = solve(mirror, cache);
+            assertEquals(mirror, hits + 1, cache.hits());
+            // nothing searched, and the flipped moves still get there
+            assertEquals(mirror, 0, again.expanded());
+            assertEquals(mirror, first.cost(), again.cost());
+            Board at = new Board(mirror, Board.Heuristic.MAN);
+            for (int dir: again.path()) at = at.moveTo(dir);
+            assertTrue(mirror, at.isGoal());
+        }
+    }
+
+    @Test
+    public void saveAndLoadRoundTrip() throws IOException {
+        SolutionCache cache = new SolutionCache(10);
+        for (String board: BOARDS) solve(board, cache);
+        File saved = folder.newFile("cache.txt");
+        cache.save(saved);
+        SolutionCache loaded = new SolutionCache(10);
+        loaded.load(saved);
+        assertEquals(cache.size(), loaded.size());
+        for (String board: BOARDS) {
+            Board b = new Board(board, Board.Heuristic.MAN);
+            int[] path = loaded.get(b);
+            assertNotNull(board, path);
+            assertArrayEquals(board, cache.get(b), path);
+        }
+        // and saving what was loaded writes the same file again
+        File again = folder.newFile("again.txt");
+        loaded.save(again);
+        assertArrayEquals(Files.readAllBytes(saved.toPath()), Files.readAllBytes(again.toPath()));
+    }
+
+    private static SolveResult solve(String board, SolutionCache cache) {
+        SolveRequest request = new SolveRequest(board, Solver.Method.IDR, Board.Heuristic.INT);
+        request.setCache(cache);
+        return Solver.solve(request);
+    }
+}
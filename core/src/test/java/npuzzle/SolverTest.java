@@ -0,0 +1,119 @@
+/////////////////////////////////////////////////////////////////////////////////////
+// Robert Wagner
+// CISC 3410 Assignment #1
+// 2016-11-11
+// SolverTest.java
+// solves every board in 3x3.txt through the library API with each optimal
+// method, and checks the cost against the table of 3x3 distances and that
+// the moves really get to the goal.  also with a memory budget small enough
+// that AST and ASP have to hand over to IDR
+////////////////////////////////////////////////////////////////////////////////////
+package npuzzle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.BeforeClass;
+import org.junit.Test;
+public class SolverTest {
+
+    // the tests run in core/, the sample boards are one up
+    private static final String BOARDS = "../3x3.txt";
+    // small enough that the hard boards go over it
+    private static final long   BUDGET = 64L << 10;
+
+    private static List<String>  boards;
+    private static DistanceTable exact;
+
+    @BeforeClass
+    public static void load() throws IOException {
+        boards = new ArrayList<String>();
+        for (String line: Files.readAllLines(Paths.get(BOARDS), StandardCharsets.UTF_8))
+            if (!line.trim().isEmpty() && line.charAt(0) != '#') boards.add(line);
+        assertFalse(boards.isEmpty());
+        exact = DistanceTable.generate(3);
+    }
+
+    @Test
+    public void informedMethodsAreOptimal() {
+        Solver.Method[] methods = { Solver.Method.AST, Solver.Method.IDA, Solver.Method.IDR,
+                                    Solver.Method.IDP, Solver.Method.EPA, Solver.Method.ASP,
+                                    Solver.Method.HDA, Solver.Method.BDA };
+        for (Solver.Method method: methods)
+            for (Board.Heuristic h: new Board.Heuristic[] { Board.Heuristic.MAN,
+                                                            Board.Heuristic.INT,
+                                                            Board.Heuristic.WD })
+                solveAll(method, h);
+    }
+
+    @Test
+    public void uninformedMethodsAreOptimal() {
+        for (Solver.Method method: new Solver.Method[] { Solver.Method.BFS, Solver.Method.BDB,
+                                                         Solver.Method.TBL })
+            solveAll(method, Board.Heuristic.MAN);
+    }
+
+    @Test
+    public void unsolvableIsSkipped() {
+        // the goal with two tiles swapped
+        SolveResult result = Solver.solve(new SolveRequest("0 1 2 3 4 5 6 8 7",
+                                                           Solver.Method.IDR, Board.Heuristic.INT));
+        assertFalse(result.isSolved());
+        assertEquals(-1, result.cost());
+    }
+
+    @Test
+    public void tinyBudgetHandsOverToIDR() {
+        for (Solver.Method method: new Solver.Method[] { Solver.Method.AST, Solver.Method.ASP })
+            for (Board.Heuristic h: new Board.Heuristic[] { Board.Heuristic.MAN,
+                                                            Board.Heuristic.INT })
+                assertTrue(method + "-" + h, solveAll(method, h, BUDGET) > 0);
+    }
+
+    @Test
+    public void bidirectionalSaysManhattan() {
+        // BDA only uses manhattan distance, whatever was asked for
+        SolveResult result = Solver.solve(new SolveRequest("8 6 7 2 5 4 3 0 1",
+                                                           Solver.Method.BDA, Board.Heuristic.INT));
+        assertEquals(Board.Heuristic.MAN, result.heuristic());
+    }
+
+    private static void solveAll(Solver.Method method, Board.Heuristic h) {
+        solveAll(method, h, 0);
+    }
+
+    // the number of boards that went over the budget and forgot what they held
+    private static int solveAll(Solver.Method method, Board.Heuristic h, long maxMemory) {
+        int over = 0;
+        for (String board: boards) {
+            SolveRequest request = new SolveRequest(board, method, h);
+            request.setMaxMemory(maxMemory);
+            SolveResult result = Solver.solve(request);
+            int optimal = exact.distance(result.initial().getState());
+            String what = method + "-" + h + " on " + board;
+            if (optimal == DistanceTable.UNSOLVABLE) {
+                assertFalse(what, result.isSolved());
+                continue;
+            }
+            assertTrue(what, result.isSolved());
+            assertEquals(what, optimal, result.cost());
+            // replay the moves from the start
+            Board at = new Board(board, Board.Heuristic.MAN);
+            for (int dir: result.path()) at = at.moveTo(dir);
+            assertEquals(what, 0, at.distance());
+            if (result.forgotten() > 0) over++;
+            // ASP's arena starts out bigger than a tiny budget, so only
+            // AST's estimate is held to it
+            if (maxMemory > 0 && method == Solver.Method.AST)
+                assertTrue(what + ": " + result.memory(), result.memory() <= maxMemory);
+        }
+        return over;
+    }
+}